@@ -16,6 +16,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -24,7 +26,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import javax.inject.Provider;
 import org.springframework.beans.InjectionPoint;
 import org.springframework.beans.SmartInitializingSingleton;
@@ -127,6 +132,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	//配置信息是否冻结
 	private volatile boolean configurationFrozen = false;
 
+	//单例预实例化执行器: 设置后, 相互独立的单例在该执行器上并行预实例化
+	private Executor preInstantiationExecutor;
+
 
 	//构造器1
 	public DefaultListableBeanFactory() {
@@ -173,6 +181,18 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.allowEagerClassLoading;
 	}
 
+	//设置单例预实例化执行器, 如有界线程池; 默认为空, 即在当前线程中依次预实例化
+	//单例按depends-on及已登记的依赖关系组成有向无环图, 依赖均已创建的单例并行创建;
+	//自动装配等在创建时才解析的依赖由各线程按需创建, 同一个单例只会由一个线程创建
+	public void setPreInstantiationExecutor(Executor preInstantiationExecutor) {
+		this.preInstantiationExecutor = preInstantiationExecutor;
+	}
+
+	//获取单例预实例化执行器
+	public Executor getPreInstantiationExecutor() {
+		return this.preInstantiationExecutor;
+	}
+
 	//设置依赖比较器
 	public void setDependencyComparator(Comparator<Object> dependencyComparator) {
 		this.dependencyComparator = dependencyComparator;
@@ -636,34 +656,22 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		List<String> beanNames = new ArrayList<String>(this.beanDefinitionNames);
 
 		//遍历Bean名称
+		List<String> singletonNames = new ArrayList<String>(beanNames.size());
 		for (String beanName : beanNames) {
 			//获取根级Bean定义
 			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
 			//如果不是抽象类，并且是单例，并且不是懒加载
 			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				//如果是工厂Bean，则判断是否要提前初始化
-				if (isFactoryBean(beanName)) {
-					final FactoryBean<?> factory = (FactoryBean<?>) getBean(FACTORY_BEAN_PREFIX + beanName);
-					boolean isEagerInit;
-					if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-						isEagerInit = AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
-							@Override
-							public Boolean run() {
-								return ((SmartFactoryBean<?>) factory).isEagerInit();
-							}
-						}, getAccessControlContext());
-					} else {
-						isEagerInit = (factory instanceof SmartFactoryBean
-								&& ((SmartFactoryBean<?>) factory).isEagerInit());
-					}
-					//确定要提前初始化，才去获取Bean对象
-					if (isEagerInit) {
-						getBean(beanName);
-					}
-				//否则，就直接初始化
-				} else {
-					getBean(beanName);
-				}
+				singletonNames.add(beanName);
+			}
+		}
+
+		//设置了执行器则并行预实例化，否则依次预实例化
+		if (this.preInstantiationExecutor != null && singletonNames.size() > 1) {
+			preInstantiateSingletonsInParallel(singletonNames);
+		} else {
+			for (String beanName : singletonNames) {
+				preInstantiateSingleton(beanName);
 			}
 		}
 
@@ -687,6 +695,49 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	//预实例化指定单例
+	private void preInstantiateSingleton(String beanName) {
+		//如果是工厂Bean，则判断是否要提前初始化
+		if (isFactoryBean(beanName)) {
+			final FactoryBean<?> factory = (FactoryBean<?>) getBean(FACTORY_BEAN_PREFIX + beanName);
+			boolean isEagerInit;
+			if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+				isEagerInit = AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
+					@Override
+					public Boolean run() {
+						return ((SmartFactoryBean<?>) factory).isEagerInit();
+					}
+				}, getAccessControlContext());
+			} else {
+				isEagerInit = (factory instanceof SmartFactoryBean
+						&& ((SmartFactoryBean<?>) factory).isEagerInit());
+			}
+			//确定要提前初始化，才去获取Bean对象
+			if (isEagerInit) {
+				getBean(beanName);
+			}
+		//否则，就直接初始化
+		} else {
+			getBean(beanName);
+		}
+	}
+
+	//在预实例化执行器上并行预实例化单例
+	//出现异常后不再启动新的预实例化, 等待进行中的完成后抛出注册顺序中最靠前的单例的异常
+	private void preInstantiateSingletonsInParallel(List<String> singletonNames) {
+		ParallelPreInstantiation preInstantiation = new ParallelPreInstantiation(singletonNames);
+		setParallelSingletonCreation(true);
+		try {
+			preInstantiation.run();
+		} finally {
+			setParallelSingletonCreation(false);
+		}
+		//依赖关系中存在循环或执行器拒绝的单例, 在当前线程中依次预实例化, 与串行时一样报告循环依赖
+		for (String beanName : preInstantiation.getRemainingBeanNames()) {
+			preInstantiateSingleton(beanName);
+		}
+	}
+
 	// ---------------------------------------------------------------------
 	// 实现BeanDefinitionRegistry接口
 	// ---------------------------------------------------------------------
@@ -1593,4 +1644,172 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+
+	//单例的并行预实例化: 依赖(depends-on及已登记的依赖关系)都已创建的单例提交到执行器
+	private class ParallelPreInstantiation {
+
+		//单例名称 -> 注册顺序
+		private final Map<String, Integer> order = new LinkedHashMap<String, Integer>();
+
+		//单例名称 -> 尚未创建的依赖数
+		private final Map<String, Integer> pendingDependencies = new HashMap<String, Integer>();
+
+		//单例名称 -> 依赖它的单例
+		private final Map<String, List<String>> dependents = new HashMap<String, List<String>>();
+
+		//已预实例化完成的单例
+		private final Set<String> completed = new HashSet<String>();
+
+		//预实例化失败的单例: 注册顺序 -> 异常
+		private final Map<Integer, Throwable> failures = new TreeMap<Integer, Throwable>();
+
+		//正在执行的预实例化数
+		private int running = 0;
+
+		//当前线程是否被中断
+		private boolean interrupted = false;
+
+		public ParallelPreInstantiation(List<String> singletonNames) {
+			for (String beanName : singletonNames) {
+				this.order.put(beanName, this.order.size());
+			}
+			for (String beanName : singletonNames) {
+				Set<String> dependencies = new LinkedHashSet<String>();
+				String[] dependsOn = getMergedLocalBeanDefinition(beanName).getDependsOn();
+				if (dependsOn != null) {
+					for (String dep : dependsOn) {
+						dependencies.add(canonicalName(dep));
+					}
+				}
+				for (String dep : getDependenciesForBean(beanName)) {
+					dependencies.add(canonicalName(dep));
+				}
+				int pending = 0;
+				for (String dep : dependencies) {
+					if (!dep.equals(beanName) && this.order.containsKey(dep)) {
+						List<String> beans = this.dependents.get(dep);
+						if (beans == null) {
+							beans = new ArrayList<String>(4);
+							this.dependents.put(dep, beans);
+						}
+						beans.add(beanName);
+						pending++;
+					}
+				}
+				this.pendingDependencies.put(beanName, pending);
+			}
+		}
+
+		//提交没有待创建依赖的单例, 并等待所有预实例化完成
+		public void run() {
+			List<String> ready = new ArrayList<String>();
+			synchronized (this) {
+				for (String beanName : this.order.keySet()) {
+					if (this.pendingDependencies.get(beanName) == 0) {
+						ready.add(beanName);
+						this.running++;
+					}
+				}
+			}
+			submit(ready);
+			synchronized (this) {
+				while (this.running > 0) {
+					try {
+						wait();
+					} catch (InterruptedException ex) {
+						//不再启动新的预实例化, 但须等待进行中的完成
+						this.interrupted = true;
+					}
+				}
+			}
+			if (this.interrupted) {
+				Thread.currentThread().interrupt();
+				throw new BeanCreationException("Interrupted during parallel pre-instantiation of singletons");
+			}
+			if (!this.failures.isEmpty()) {
+				throwFailure();
+			}
+		}
+
+		//提交单例的预实例化, 调用前须已计入正在执行的预实例化数
+		private void submit(List<String> beanNames) {
+			for (final String beanName : beanNames) {
+				try {
+					preInstantiationExecutor.execute(new Runnable() {
+						@Override
+						public void run() {
+							Throwable failure = null;
+							try {
+								preInstantiateSingleton(beanName);
+							} catch (Throwable ex) {
+								failure = ex;
+							}
+							submit(onCompletion(beanName, failure));
+						}
+					});
+				} catch (RejectedExecutionException ex) {
+					//被拒绝的单例随后在当前线程中预实例化
+					synchronized (this) {
+						this.running--;
+						notifyAll();
+					}
+				}
+			}
+		}
+
+		//记录完成的单例, 返回因此可以开始预实例化的单例(已计入正在执行的预实例化数)
+		private synchronized List<String> onCompletion(String beanName, Throwable failure) {
+			this.running--;
+			notifyAll();
+			if (failure != null) {
+				this.failures.put(this.order.get(beanName), failure);
+				return Collections.emptyList();
+			}
+			this.completed.add(beanName);
+			List<String> ready = new ArrayList<String>();
+			List<String> beans = this.dependents.get(beanName);
+			if (beans != null && this.failures.isEmpty() && !this.interrupted) {
+				for (String dependent : beans) {
+					int pending = this.pendingDependencies.get(dependent) - 1;
+					this.pendingDependencies.put(dependent, pending);
+					if (pending == 0) {
+						//提交前即计入, 避免等待线程误以为已全部完成
+						this.running++;
+						ready.add(dependent);
+					}
+				}
+			}
+			return ready;
+		}
+
+		//抛出注册顺序中最靠前的单例的异常, 其他异常作为相关原因
+		private void throwFailure() {
+			Iterator<Throwable> it = this.failures.values().iterator();
+			Throwable first = it.next();
+			if (first instanceof BeanCreationException) {
+				while (it.hasNext()) {
+					((BeanCreationException) first).addRelatedCause(it.next());
+				}
+			}
+			if (first instanceof RuntimeException) {
+				throw (RuntimeException) first;
+			}
+			if (first instanceof Error) {
+				throw (Error) first;
+			}
+			throw new BeanCreationException("Parallel pre-instantiation of singletons failed", first);
+		}
+
+		//获取未预实例化的单例(依赖关系中存在循环或被执行器拒绝), 按注册顺序
+		public List<String> getRemainingBeanNames() {
+			List<String> remaining = new ArrayList<String>();
+			for (String beanName : this.order.keySet()) {
+				if (!this.completed.contains(beanName)) {
+					remaining.add(beanName);
+				}
+			}
+			return remaining;
+		}
+	}
+
 }
@@ -1,11 +1,13 @@
 package org.springframework.beans.bean.registry;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -65,6 +67,15 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
     //依赖关系映射(依赖Bean，被依赖Bean集合)
     private final Map<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<String, Set<String>>(64);
 
+    //是否并行创建单例: 开启后只在检查和登记时持有单例锁, 不同的单例可在多个线程中同时创建
+    private volatile boolean parallelSingletonCreation = false;
+
+    //并行创建时, 正在创建的单例名称 -> 创建线程(由单例锁保护)
+    private final Map<String, Thread> singletonCreationThreads = new HashMap<String, Thread>(16);
+
+    //并行创建时, 等待其他线程创建单例的线程 -> 所等待的单例名称(由单例锁保护)
+    private final Map<Thread, String> singletonWaitingThreads = new HashMap<Thread, String>(16);
+
     //注册单例
     @Override
     public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
@@ -125,28 +136,41 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
         //判断当前Bean对象是否正在被创建
         if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
             synchronized (this.singletonObjects) {
-                //获取早期单例对象
-                singletonObject = this.earlySingletonObjects.get(beanName);
-                if (singletonObject == null && allowEarlyReference) {
-                    //获取该Bean对应的对象工厂
-                    ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
-                    if (singletonFactory != null) {
-                        //通过对象工厂创建Bean对象
-                        singletonObject = singletonFactory.getObject();
-                        //放置在早期单例集合中
-                        this.earlySingletonObjects.put(beanName, singletonObject);
-                        //将该Bean对应的对象工厂移除
-                        this.singletonFactories.remove(beanName);
-                    }
+                //并行创建时, 其他线程正在创建的Bean不提供早期引用, 而是等待其创建完成
+                if (this.parallelSingletonCreation && isSingletonCreatedByOtherThread(beanName)) {
+                    return null;
                 }
+                singletonObject = getEarlySingleton(beanName, allowEarlyReference);
             }
         }
         return (singletonObject != NULL_OBJECT ? singletonObject : null);
     }
 
+    //获取早期单例(须持有单例锁)
+    private Object getEarlySingleton(String beanName, boolean allowEarlyReference) {
+        //获取早期单例对象
+        Object singletonObject = this.earlySingletonObjects.get(beanName);
+        if (singletonObject == null && allowEarlyReference) {
+            //获取该Bean对应的对象工厂
+            ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+            if (singletonFactory != null) {
+                //通过对象工厂创建Bean对象
+                singletonObject = singletonFactory.getObject();
+                //放置在早期单例集合中
+                this.earlySingletonObjects.put(beanName, singletonObject);
+                //将该Bean对应的对象工厂移除
+                this.singletonFactories.remove(beanName);
+            }
+        }
+        return singletonObject;
+    }
+
     //获取单例(Bean名称，对象工厂)
     public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
         Assert.notNull(beanName, "'beanName' must not be null");
+        if (this.parallelSingletonCreation) {
+            return getSingletonInParallel(beanName, singletonFactory);
+        }
         synchronized (this.singletonObjects) {
             //根据名称从缓存中获取Bean
             Object singletonObject = this.singletonObjects.get(beanName);
@@ -201,6 +225,150 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
         }
     }
 
+    //并行创建模式下获取单例: 同一个单例只由一个线程创建, 其他请求该单例的线程等待其创建完成
+    //若等待会形成线程间的循环等待, 则与串行创建时的循环引用一样使用早期引用
+    private Object getSingletonInParallel(String beanName, ObjectFactory<?> singletonFactory) {
+        Thread currentThread = Thread.currentThread();
+        boolean creator = false;
+        synchronized (this.singletonObjects) {
+            while (true) {
+                Object singletonObject = this.singletonObjects.get(beanName);
+                if (singletonObject != null) {
+                    return (singletonObject != NULL_OBJECT ? singletonObject : null);
+                }
+                if (this.singletonsCurrentlyInDestruction) {
+                    throw new BeanCreationNotAllowedException(beanName,
+                            "Singleton bean creation not allowed while singletons of this factory are in destruction " +
+                                    "(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+                }
+                Thread creationThread = this.singletonCreationThreads.get(beanName);
+                if (creationThread == null) {
+                    //由当前线程创建
+                    this.singletonCreationThreads.put(beanName, currentThread);
+                    creator = true;
+                    break;
+                }
+                if (creationThread == currentThread) {
+                    //当前线程中的循环引用, 与串行创建一样由beforeSingletonCreation检测
+                    break;
+                }
+                List<String> waitCycle = getSingletonWaitCycle(beanName);
+                if (waitCycle != null) {
+                    singletonObject = getEarlySingleton(beanName, true);
+                    if (singletonObject != null) {
+                        return (singletonObject != NULL_OBJECT ? singletonObject : null);
+                    }
+                    //只有当循环中的其他线程能够使用早期引用时才继续等待
+                    if (!hasEarlySingleton(waitCycle)) {
+                        throw new BeanCurrentlyInCreationException(beanName,
+                                "Requested bean is currently in creation by another thread that is waiting for " +
+                                        "this thread: Is there an unresolvable circular reference between " + waitCycle + "?");
+                    }
+                }
+                this.singletonWaitingThreads.put(currentThread, beanName);
+                //通知循环中的其他线程重新检查
+                this.singletonObjects.notifyAll();
+                try {
+                    this.singletonObjects.wait();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new BeanCreationException(beanName,
+                            "Interrupted while waiting for singleton creation in another thread", ex);
+                } finally {
+                    this.singletonWaitingThreads.remove(currentThread);
+                }
+            }
+            //在登记创建线程的同一锁内标记为正在创建, 使持有单例锁的类型检查等不会看到未标记的空档
+            try {
+                beforeSingletonCreation(beanName);
+            } catch (RuntimeException ex) {
+                if (creator) {
+                    this.singletonCreationThreads.remove(beanName);
+                    this.singletonObjects.notifyAll();
+                }
+                throw ex;
+            }
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Creating shared instance of singleton bean '" + beanName + "' in " + currentThread.getName());
+        }
+        //并行创建时不记录被抑制的异常, 因为它们无法归属到某一次创建
+        Object singletonObject = null;
+        try {
+            boolean newSingleton = false;
+            try {
+                singletonObject = singletonFactory.getObject();
+                newSingleton = true;
+            } catch (IllegalStateException ex) {
+                singletonObject = this.singletonObjects.get(beanName);
+                if (singletonObject == null) {
+                    throw ex;
+                }
+            } finally {
+                afterSingletonCreation(beanName);
+            }
+            if (newSingleton) {
+                addSingleton(beanName, singletonObject);
+            }
+        } finally {
+            if (creator) {
+                synchronized (this.singletonObjects) {
+                    this.singletonCreationThreads.remove(beanName);
+                    //唤醒等待该单例的线程
+                    this.singletonObjects.notifyAll();
+                }
+            }
+        }
+        return (singletonObject != NULL_OBJECT ? singletonObject : null);
+    }
+
+    //指定单例是否正在由其他线程并行创建(须持有单例锁)
+    protected boolean isSingletonCreatedByOtherThread(String beanName) {
+        Thread creationThread = this.singletonCreationThreads.get(beanName);
+        return (creationThread != null && creationThread != Thread.currentThread());
+    }
+
+    //获取等待指定单例会形成的循环等待所涉及的单例, 不形成循环则返回null(须持有单例锁)
+    private List<String> getSingletonWaitCycle(String beanName) {
+        Thread currentThread = Thread.currentThread();
+        List<String> cycle = new ArrayList<String>();
+        Set<Thread> seenThreads = new HashSet<Thread>();
+        String waitedFor = beanName;
+        while (waitedFor != null) {
+            Thread creationThread = this.singletonCreationThreads.get(waitedFor);
+            if (creationThread == null || !seenThreads.add(creationThread)) {
+                return null;
+            }
+            cycle.add(waitedFor);
+            if (creationThread == currentThread) {
+                return cycle;
+            }
+            waitedFor = this.singletonWaitingThreads.get(creationThread);
+        }
+        return null;
+    }
+
+    //指定单例中是否有可用的早期引用(须持有单例锁)
+    private boolean hasEarlySingleton(List<String> beanNames) {
+        for (String beanName : beanNames) {
+            if (this.earlySingletonObjects.containsKey(beanName) || this.singletonFactories.containsKey(beanName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //设置是否并行创建单例, 只应在没有单例正在创建时切换
+    protected void setParallelSingletonCreation(boolean parallelSingletonCreation) {
+        this.parallelSingletonCreation = parallelSingletonCreation;
+    }
+
+    //是否并行创建单例
+    protected boolean isParallelSingletonCreation() {
+        return this.parallelSingletonCreation;
+    }
+
     //添加被抑制异常
     protected void onSuppressedException(Exception ex) {
         synchronized (this.singletonObjects) {
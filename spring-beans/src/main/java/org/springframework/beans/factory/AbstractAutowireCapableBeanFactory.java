@@ -783,8 +783,10 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 			if (bw != null) {
 				return (FactoryBean<?>) bw.getWrappedInstance();
 			}
-			if (isSingletonCurrentlyInCreation(beanName)
-					|| (mbd.getFactoryBeanName() != null && isSingletonCurrentlyInCreation(mbd.getFactoryBeanName()))) {
+			//并行创建时, 其他线程已登记创建的Bean同样视为正在创建
+			if (isSingletonCurrentlyInCreation(beanName) || isSingletonCreatedByOtherThread(beanName)
+					|| (mbd.getFactoryBeanName() != null && (isSingletonCurrentlyInCreation(mbd.getFactoryBeanName())
+							|| isSingletonCreatedByOtherThread(mbd.getFactoryBeanName())))) {
 				return null;
 			}
 
@@ -18,10 +18,18 @@ package org.springframework.context.annotation;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -32,6 +40,9 @@ import org.springframework.beans.factory.annotation.Lookup;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.context.ResourceLoaderAware;
+import org.springframework.context.index.CandidateComponentsIndex;
+import org.springframework.context.index.CandidateComponentsIndexLoader;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.EnvironmentCapable;
 import org.springframework.core.env.StandardEnvironment;
@@ -60,6 +71,11 @@ import org.springframework.util.ClassUtils;
  * {@link org.springframework.core.type.classreading.MetadataReader MetadataReader}
  * facility, backed by an ASM {@link org.springframework.asm.ClassReader ClassReader}.
  *
+ * <p>If a {@code META-INF/spring.components} index is available on the classpath
+ * and the configured include filters are supported by it, candidates are looked
+ * up in the index rather than by scanning the class path, see
+ * {@link CandidateComponentsIndexLoader}.
+ *
  * @author Mark Fisher
  * @author Juergen Hoeller
  * @author Ramnivas Laddad
@@ -73,6 +89,13 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 
 	static final String DEFAULT_RESOURCE_PATTERN = "**/*.class";
 
+	/** Minimum number of class resources for a scan to be split across threads */
+	private static final int PARALLEL_SCAN_THRESHOLD = 64;
+
+	/** The {@code javax} component annotations recorded by the candidate components index */
+	private static final Set<String> INDEXED_JAVAX_STEREOTYPES = new HashSet<String>(
+			Arrays.asList("javax.annotation.ManagedBean", "javax.inject.Named"));
+
 
 	protected final Log logger = LogFactory.getLog(getClass());
 
@@ -90,6 +113,10 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 
 	private MetadataReaderFactory metadataReaderFactory;
 
+	private CandidateComponentsIndex componentsIndex;
+
+	private Executor scanExecutor;
+
 
 	/**
 	 * Protected constructor for flexible subclass initialization.
@@ -237,6 +264,7 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	public void setResourceLoader(ResourceLoader resourceLoader) {
 		this.resourcePatternResolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
 		this.metadataReaderFactory = new CachingMetadataReaderFactory(resourceLoader);
+		this.componentsIndex = CandidateComponentsIndexLoader.loadIndex(this.resourcePatternResolver.getClassLoader());
 	}
 
 	/**
@@ -264,65 +292,266 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		return this.metadataReaderFactory;
 	}
 
+	/**
+	 * Set an {@link Executor} for reading the class files of a package in
+	 * parallel, e.g. a {@link java.util.concurrent.ThreadPoolExecutor} with
+	 * one thread per core.
+	 * <p>The resources found for a package are split into contiguous partitions
+	 * that are read concurrently; the candidates are returned in the same order
+	 * as by a sequential scan. Small packages are always scanned sequentially.
+	 * <p>Default is none, i.e. a sequential scan. If set, the type filters,
+	 * conditions and {@link #setMetadataReaderFactory MetadataReaderFactory}
+	 * need to be safe for concurrent use, as the default ones are.
+	 * @since 4.3.13
+	 */
+	public void setScanExecutor(Executor scanExecutor) {
+		this.scanExecutor = scanExecutor;
+	}
+
 
 	/**
 	 * Scan the class path for candidate components.
+	 * <p>Uses the candidate components index instead, if available and
+	 * applicable to the configured include filters.
 	 * @param basePackage the package to check for annotated classes
 	 * @return a corresponding Set of autodetected bean definitions
 	 */
 	public Set<BeanDefinition> findCandidateComponents(String basePackage) {
+		if (this.componentsIndex != null && indexSupportsIncludeFilters()) {
+			return addCandidateComponentsFromIndex(this.componentsIndex, basePackage);
+		}
+		else {
+			return scanCandidateComponents(basePackage);
+		}
+	}
+
+	/**
+	 * Determine if the index can be used by this instance.
+	 * @return {@code true} if the index is available and the configuration of this
+	 * instance is supported by it, {@code false} otherwise
+	 * @since 4.3.13
+	 */
+	private boolean indexSupportsIncludeFilters() {
+		if (!DEFAULT_RESOURCE_PATTERN.equals(this.resourcePattern)) {
+			return false;
+		}
+		for (TypeFilter includeFilter : this.includeFilters) {
+			if (!indexSupportsIncludeFilter(includeFilter)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Determine if the specified include {@link TypeFilter} is supported by the index.
+	 * <p>The index records the {@link Component @Component} stereotypes of each
+	 * type, as well as the {@code javax.annotation.ManagedBean} and
+	 * {@code javax.inject.Named} component annotations, but not stereotypes
+	 * inherited from a superclass.
+	 * @param filter the filter to check
+	 * @return whether the index supports this include filter
+	 * @since 4.3.13
+	 */
+	private boolean indexSupportsIncludeFilter(TypeFilter filter) {
+		if (filter instanceof AnnotationTypeFilter) {
+			Class<? extends Annotation> annotation = ((AnnotationTypeFilter) filter).getAnnotationType();
+			if (annotation.isAnnotationPresent(Inherited.class)) {
+				return false;
+			}
+			return (Component.class == annotation || INDEXED_JAVAX_STEREOTYPES.contains(annotation.getName()) ||
+					AnnotationUtils.isAnnotationMetaPresent(annotation, Component.class));
+		}
+		return false;
+	}
+
+	private Set<BeanDefinition> addCandidateComponentsFromIndex(CandidateComponentsIndex index, String basePackage) {
+		Set<BeanDefinition> candidates = new LinkedHashSet<BeanDefinition>();
+		try {
+			String resolvedPackage = this.environment.resolveRequiredPlaceholders(basePackage);
+			Set<String> types = new LinkedHashSet<String>();
+			for (TypeFilter filter : this.includeFilters) {
+				String stereotype = ((AnnotationTypeFilter) filter).getAnnotationType().getName();
+				types.addAll(index.getCandidateTypes(resolvedPackage, stereotype));
+			}
+			boolean traceEnabled = logger.isTraceEnabled();
+			boolean debugEnabled = logger.isDebugEnabled();
+			for (String type : types) {
+				Resource resource = this.resourcePatternResolver.getResource(
+						ResourceLoader.CLASSPATH_URL_PREFIX + ClassUtils.convertClassNameToResourcePath(type) +
+						ClassUtils.CLASS_FILE_SUFFIX);
+				MetadataReader metadataReader;
+				try {
+					metadataReader = this.metadataReaderFactory.getMetadataReader(resource);
+				}
+				catch (Throwable ex) {
+					throw new BeanDefinitionStoreException(
+							"Failed to read candidate component class: " + type, ex);
+				}
+				if (isCandidateComponent(metadataReader)) {
+					ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
+					sbd.setResource(resource);
+					sbd.setSource(resource);
+					if (isCandidateComponent(sbd)) {
+						if (debugEnabled) {
+							logger.debug("Using candidate component class from index: " + type);
+						}
+						candidates.add(sbd);
+					}
+					else {
+						if (debugEnabled) {
+							logger.debug("Ignored because not a concrete top-level class: " + type);
+						}
+					}
+				}
+				else {
+					if (traceEnabled) {
+						logger.trace("Ignored because excluded or not matching conditions: " + type);
+					}
+				}
+			}
+		}
+		catch (IOException ex) {
+			throw new BeanDefinitionStoreException("I/O failure during index lookup", ex);
+		}
+		return candidates;
+	}
+
+	private Set<BeanDefinition> scanCandidateComponents(String basePackage) {
 		Set<BeanDefinition> candidates = new LinkedHashSet<BeanDefinition>();
 		try {
 			String packageSearchPath = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX +
 					resolveBasePackage(basePackage) + '/' + this.resourcePattern;
 			Resource[] resources = this.resourcePatternResolver.getResources(packageSearchPath);
-			boolean traceEnabled = logger.isTraceEnabled();
-			boolean debugEnabled = logger.isDebugEnabled();
-			for (Resource resource : resources) {
-				if (traceEnabled) {
-					logger.trace("Scanning " + resource);
+			if (this.scanExecutor != null && resources.length >= PARALLEL_SCAN_THRESHOLD) {
+				candidates.addAll(scanCandidateComponentsInParallel(resources));
+			}
+			else {
+				for (Resource resource : resources) {
+					ScannedGenericBeanDefinition sbd = scanCandidateComponent(resource);
+					if (sbd != null) {
+						candidates.add(sbd);
+					}
 				}
-				if (resource.isReadable()) {
-					try {
-						MetadataReader metadataReader = this.metadataReaderFactory.getMetadataReader(resource);
-						if (isCandidateComponent(metadataReader)) {
-							ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
-							sbd.setResource(resource);
-							sbd.setSource(resource);
-							if (isCandidateComponent(sbd)) {
-								if (debugEnabled) {
-									logger.debug("Identified candidate component class: " + resource);
-								}
-								candidates.add(sbd);
-							}
-							else {
-								if (debugEnabled) {
-									logger.debug("Ignored because not a concrete top-level class: " + resource);
+			}
+		}
+		catch (IOException ex) {
+			throw new BeanDefinitionStoreException("I/O failure during classpath scanning", ex);
+		}
+		return candidates;
+	}
+
+	/**
+	 * Read the given resources on the {@link #setScanExecutor scan executor},
+	 * in contiguous partitions, merging the results in resource order.
+	 */
+	private List<ScannedGenericBeanDefinition> scanCandidateComponentsInParallel(final Resource[] resources) {
+		if (this.conditionEvaluator == null) {
+			this.conditionEvaluator = new ConditionEvaluator(getRegistry(), getEnvironment(), getResourceLoader());
+		}
+		int partitionCount = Math.min(Runtime.getRuntime().availableProcessors() * 4,
+				resources.length / (PARALLEL_SCAN_THRESHOLD / 4));
+		int partitionSize = (resources.length + partitionCount - 1) / partitionCount;
+		List<FutureTask<List<ScannedGenericBeanDefinition>>> partitions =
+				new ArrayList<FutureTask<List<ScannedGenericBeanDefinition>>>(partitionCount);
+		for (int from = 0; from < resources.length; from += partitionSize) {
+			final int start = from;
+			final int end = Math.min(from + partitionSize, resources.length);
+			FutureTask<List<ScannedGenericBeanDefinition>> partition =
+					new FutureTask<List<ScannedGenericBeanDefinition>>(new Callable<List<ScannedGenericBeanDefinition>>() {
+						@Override
+						public List<ScannedGenericBeanDefinition> call() {
+							List<ScannedGenericBeanDefinition> result = new ArrayList<ScannedGenericBeanDefinition>();
+							for (int i = start; i < end; i++) {
+								ScannedGenericBeanDefinition sbd = scanCandidateComponent(resources[i]);
+								if (sbd != null) {
+									result.add(sbd);
 								}
 							}
+							return result;
 						}
-						else {
-							if (traceEnabled) {
-								logger.trace("Ignored because not matching any filter: " + resource);
-							}
+					});
+			partitions.add(partition);
+		}
+		List<ScannedGenericBeanDefinition> candidates = new ArrayList<ScannedGenericBeanDefinition>();
+		try {
+			for (FutureTask<List<ScannedGenericBeanDefinition>> partition : partitions) {
+				this.scanExecutor.execute(partition);
+			}
+			for (FutureTask<List<ScannedGenericBeanDefinition>> partition : partitions) {
+				candidates.addAll(partition.get());
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new BeanDefinitionStoreException("Interrupted during parallel classpath scanning", ex);
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new BeanDefinitionStoreException("Failure during parallel classpath scanning", cause);
+		}
+		finally {
+			for (FutureTask<List<ScannedGenericBeanDefinition>> partition : partitions) {
+				partition.cancel(false);
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Read the given class resource and build a bean definition for it,
+	 * if it qualifies as candidate component.
+	 * @param resource the class resource
+	 * @return the bean definition, or {@code null} if not a candidate
+	 */
+	private ScannedGenericBeanDefinition scanCandidateComponent(Resource resource) {
+		boolean traceEnabled = logger.isTraceEnabled();
+		boolean debugEnabled = logger.isDebugEnabled();
+		if (traceEnabled) {
+			logger.trace("Scanning " + resource);
+		}
+		if (resource.isReadable()) {
+			try {
+				MetadataReader metadataReader = this.metadataReaderFactory.getMetadataReader(resource);
+				if (isCandidateComponent(metadataReader)) {
+					ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
+					sbd.setResource(resource);
+					sbd.setSource(resource);
+					if (isCandidateComponent(sbd)) {
+						if (debugEnabled) {
+							logger.debug("Identified candidate component class: " + resource);
 						}
+						return sbd;
 					}
-					catch (Throwable ex) {
-						throw new BeanDefinitionStoreException(
-								"Failed to read candidate component class: " + resource, ex);
+					else {
+						if (debugEnabled) {
+							logger.debug("Ignored because not a concrete top-level class: " + resource);
+						}
 					}
 				}
 				else {
 					if (traceEnabled) {
-						logger.trace("Ignored because not readable: " + resource);
+						logger.trace("Ignored because not matching any filter: " + resource);
 					}
 				}
 			}
+			catch (Throwable ex) {
+				throw new BeanDefinitionStoreException(
+						"Failed to read candidate component class: " + resource, ex);
+			}
 		}
-		catch (IOException ex) {
-			throw new BeanDefinitionStoreException("I/O failure during classpath scanning", ex);
+		else {
+			if (traceEnabled) {
+				logger.trace("Ignored because not readable: " + resource);
+			}
 		}
-		return candidates;
+		return null;
 	}
 
 
@@ -32,6 +32,8 @@ import org.springframework.context.ApplicationEvent;
 import org.springframework.context.PayloadApplicationEvent;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.MethodAccessor;
+import org.springframework.core.MethodAccessorFactory;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.Order;
@@ -39,7 +41,6 @@ import org.springframework.expression.EvaluationContext;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
-import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -69,6 +70,8 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 	private final Method bridgedMethod;
 
+	private final MethodAccessor methodAccessor;
+
 	private final List<ResolvableType> declaredEventTypes;
 
 	private final String condition;
@@ -87,6 +90,7 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		this.method = method;
 		this.targetClass = targetClass;
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(method);
+		this.methodAccessor = MethodAccessorFactory.getMethodAccessor(this.bridgedMethod);
 
 		Method targetMethod = ClassUtils.getMostSpecificMethod(method, targetClass);
 		EventListener ann = AnnotatedElementUtils.findMergedAnnotation(targetMethod, EventListener.class);
@@ -251,9 +255,8 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 	 */
 	protected Object doInvoke(Object... args) {
 		Object bean = getTargetBean();
-		ReflectionUtils.makeAccessible(this.bridgedMethod);
 		try {
-			return this.bridgedMethod.invoke(bean, args);
+			return this.methodAccessor.invoke(bean, args);
 		}
 		catch (IllegalArgumentException ex) {
 			assertTargetBean(this.bridgedMethod, bean, args);
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation {@link javax.annotation.processing.Processor} that writes a
+ * {@code META-INF/spring.components} index of the candidate components of
+ * the compiled module, for use by
+ * {@link org.springframework.context.index.CandidateComponentsIndexLoader}.
+ *
+ * <p>Each class or interface that is annotated with a {@code @Component}
+ * stereotype, directly or through meta-annotations, is recorded with every
+ * stereotype that applies to it, as well as types annotated with
+ * {@code javax.annotation.ManagedBean} or {@code javax.inject.Named}. Nested
+ * types are recorded with their binary name.
+ *
+ * <p>The processor is not registered automatically: it needs to be enabled
+ * explicitly, e.g. through the {@code -processor} compiler option. A module
+ * should be indexed as a whole, since the presence of an index on the
+ * classpath switches component scanning to the index for its packages.
+ *
+ * @since 4.3.13
+ */
+@SupportedAnnotationTypes("*")
+public class CandidateComponentsIndexer extends AbstractProcessor {
+
+	static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/spring.components";
+
+	private static final String COMPONENT_ANNOTATION = "org.springframework.stereotype.Component";
+
+	private static final Set<String> JAVAX_STEREOTYPES = new LinkedHashSet<String>(2);
+
+	static {
+		JAVAX_STEREOTYPES.add("javax.annotation.ManagedBean");
+		JAVAX_STEREOTYPES.add("javax.inject.Named");
+	}
+
+
+	private final Map<String, Set<String>> entries = new TreeMap<String, Set<String>>();
+
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getRootElements()) {
+			processElement(element);
+		}
+		if (roundEnv.processingOver()) {
+			writeIndex();
+		}
+		return false;
+	}
+
+	private void processElement(Element element) {
+		if (element.getKind() == ElementKind.CLASS || element.getKind() == ElementKind.INTERFACE) {
+			TypeElement type = (TypeElement) element;
+			Set<String> stereotypes = getStereotypes(type);
+			if (!stereotypes.isEmpty()) {
+				String typeName = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+				this.entries.put(typeName, stereotypes);
+			}
+		}
+		for (Element enclosed : element.getEnclosedElements()) {
+			if (enclosed.getKind() == ElementKind.CLASS || enclosed.getKind() == ElementKind.INTERFACE) {
+				processElement(enclosed);
+			}
+		}
+	}
+
+	/**
+	 * Return the stereotypes that apply to the given type: every annotation in
+	 * the meta-annotation hierarchy of the type that is itself {@code @Component}
+	 * or meta-annotated with it, plus the supported {@code javax} stereotypes.
+	 */
+	private Set<String> getStereotypes(TypeElement type) {
+		Set<String> stereotypes = new LinkedHashSet<String>();
+		for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+			TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+			String annotationName = annotationType.getQualifiedName().toString();
+			if (JAVAX_STEREOTYPES.contains(annotationName)) {
+				stereotypes.add(annotationName);
+			}
+			collectComponentStereotypes(annotationType, stereotypes, new HashSet<String>());
+		}
+		return stereotypes;
+	}
+
+	private boolean collectComponentStereotypes(TypeElement annotationType, Set<String> stereotypes,
+			Set<String> visited) {
+
+		String annotationName = annotationType.getQualifiedName().toString();
+		if (!visited.add(annotationName) || annotationName.startsWith("java.lang.annotation")) {
+			return false;
+		}
+		boolean component = COMPONENT_ANNOTATION.equals(annotationName);
+		for (AnnotationMirror metaAnnotation : annotationType.getAnnotationMirrors()) {
+			TypeElement metaAnnotationType = (TypeElement) metaAnnotation.getAnnotationType().asElement();
+			if (collectComponentStereotypes(metaAnnotationType, stereotypes, visited)) {
+				component = true;
+			}
+		}
+		if (component) {
+			stereotypes.add(annotationName);
+		}
+		return component;
+	}
+
+	private void writeIndex() {
+		if (this.entries.isEmpty()) {
+			return;
+		}
+		Properties properties = new Properties();
+		readExistingIndex(properties);
+		for (Map.Entry<String, Set<String>> entry : this.entries.entrySet()) {
+			properties.setProperty(entry.getKey(), toCommaDelimitedString(entry.getValue()));
+		}
+		try {
+			FileObject file = this.processingEnv.getFiler().createResource(
+					StandardLocation.CLASS_OUTPUT, "", COMPONENTS_RESOURCE_LOCATION);
+			OutputStream out = file.openOutputStream();
+			try {
+				properties.store(out, null);
+			}
+			finally {
+				out.close();
+			}
+		}
+		catch (IOException ex) {
+			this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"Unable to write candidate components index: " + ex);
+		}
+	}
+
+	/**
+	 * Read the index written by a previous (e.g. incremental) compilation, so
+	 * that entries for types that are not recompiled are retained.
+	 */
+	private void readExistingIndex(Properties properties) {
+		try {
+			FileObject file = this.processingEnv.getFiler().getResource(
+					StandardLocation.CLASS_OUTPUT, "", COMPONENTS_RESOURCE_LOCATION);
+			InputStream in = file.openInputStream();
+			try {
+				properties.load(in);
+			}
+			finally {
+				in.close();
+			}
+			List<String> staleTypes = new ArrayList<String>();
+			for (String typeName : properties.stringPropertyNames()) {
+				if (this.processingEnv.getElementUtils().getTypeElement(typeName.replace('$', '.')) == null) {
+					staleTypes.add(typeName);
+				}
+			}
+			for (String typeName : staleTypes) {
+				properties.remove(typeName);
+			}
+		}
+		catch (IOException ex) {
+			// No existing index (or not readable)
+		}
+		catch (IllegalArgumentException ex) {
+			// Resource location not supported by the Filer
+		}
+	}
+
+	private static String toCommaDelimitedString(Set<String> values) {
+		StringBuilder sb = new StringBuilder();
+		for (String value : values) {
+			if (sb.length() > 0) {
+				sb.append(',');
+			}
+			sb.append(value);
+		}
+		return sb.toString();
+	}
+
+}
@@ -60,6 +60,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.type.classreading.SharedMetadataReaderCache;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
@@ -154,6 +155,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	/** ApplicationEvents published early */
 	private Set<ApplicationEvent> earlyApplicationEvents;
 
+	/** ClassLoader retained in the shared metadata cache while active, guarded by startupShutdownMonitor */
+	private ClassLoader metadataCacheClassLoader;
+
 	/**
 	 * Create a new AbstractApplicationContext with no parent.
 	 */
@@ -560,6 +564,12 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		// Allow for the collection of early ApplicationEvents,
 		// to be published once the multicaster is available...
 		this.earlyApplicationEvents = new LinkedHashSet<ApplicationEvent>();
+
+		// Keep shared class metadata for this context's ClassLoader until close.
+		if (this.metadataCacheClassLoader == null) {
+			this.metadataCacheClassLoader = getClassLoader();
+			SharedMetadataReaderCache.getSharedInstance().retainClassLoader(this.metadataCacheClassLoader);
+		}
 	}
 
 	/**
@@ -873,6 +883,18 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	 */
 	protected void cancelRefresh(BeansException ex) {
 		this.active.set(false);
+		releaseSharedMetadata();
+	}
+
+	/**
+	 * Release this context's ClassLoader in the shared metadata cache, if retained.
+	 * @see SharedMetadataReaderCache#releaseClassLoader
+	 */
+	private void releaseSharedMetadata() {
+		if (this.metadataCacheClassLoader != null) {
+			SharedMetadataReaderCache.getSharedInstance().releaseClassLoader(this.metadataCacheClassLoader);
+			this.metadataCacheClassLoader = null;
+		}
 	}
 
 	/**
@@ -993,6 +1015,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 			// Close the state of this context itself.
 			closeBeanFactory();
 
+			// Release shared class metadata, removed once no other context uses the ClassLoader.
+			releaseSharedMetadata();
+
 			// Let subclasses do some final clean-up if they wish...
 			onClose();
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2012 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.UndeclaredThrowableException;
 
+import org.springframework.core.MethodAccessor;
+import org.springframework.core.MethodAccessorFactory;
 import org.springframework.util.ReflectionUtils;
 
 /**
@@ -37,15 +39,19 @@ public class ScheduledMethodRunnable implements Runnable {
 
 	private final Method method;
 
+	private final MethodAccessor methodAccessor;
+
 
 	public ScheduledMethodRunnable(Object target, Method method) {
 		this.target = target;
 		this.method = method;
+		this.methodAccessor = MethodAccessorFactory.getMethodAccessor(method);
 	}
 
 	public ScheduledMethodRunnable(Object target, String methodName) throws NoSuchMethodException {
 		this.target = target;
 		this.method = target.getClass().getMethod(methodName);
+		this.methodAccessor = MethodAccessorFactory.getMethodAccessor(this.method);
 	}
 
 
@@ -61,8 +67,7 @@ public class ScheduledMethodRunnable implements Runnable {
 	@Override
 	public void run() {
 		try {
-			ReflectionUtils.makeAccessible(this.method);
-			this.method.invoke(this.target);
+			this.methodAccessor.invoke(this.target);
 		}
 		catch (InvocationTargetException ex) {
 			ReflectionUtils.rethrowRuntimeException(ex.getTargetException());
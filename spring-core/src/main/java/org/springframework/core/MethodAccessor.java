@@ -0,0 +1,53 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Invokes a specific {@link Method}, with the same contract as
+ * {@link Method#invoke(Object, Object...)}: illegal target or argument
+ * values are reported as {@link IllegalArgumentException}, and exceptions
+ * thrown by the method itself are wrapped in an {@link InvocationTargetException}.
+ *
+ * <p>Obtain instances through {@link MethodAccessorFactory#getMethodAccessor(Method)}.
+ *
+ * @since 4.3.13
+ * @see MethodAccessorFactory
+ */
+public interface MethodAccessor {
+
+	/**
+	 * Return the method invoked by this accessor.
+	 */
+	Method getMethod();
+
+	/**
+	 * Invoke the method on the given target with the given arguments.
+	 * @param target the target instance, or {@code null} for a static method
+	 * @param args the method arguments
+	 * @return the value returned by the method, or {@code null} for a void method
+	 * @throws IllegalAccessException if the method is not accessible
+	 * @throws IllegalArgumentException if the target or the arguments are not
+	 * suitable for the method
+	 * @throws InvocationTargetException if the method threw an exception
+	 */
+	Object invoke(Object target, Object... args)
+			throws IllegalAccessException, IllegalArgumentException, InvocationTargetException;
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Factory for {@link MethodAccessor} instances, cached per {@link Method}.
+ *
+ * <p>By default, accessors use reflection, making the method accessible once
+ * rather than on every invocation. If the "spring.methodaccessor.generate"
+ * property is set to "true" (see {@link SpringProperties}), accessors for
+ * public methods of public classes invoke the method through a generated
+ * CGLIB {@link FastClass}, i.e. through a direct call from generated bytecode
+ * rather than through {@link Method#invoke}. Reflection remains the fallback
+ * whenever a class cannot be generated, e.g. for non-public methods or for
+ * classes loaded by the bootstrap ClassLoader.
+ *
+ * @since 4.3.13
+ * @see MethodAccessor
+ */
+public abstract class MethodAccessorFactory {
+
+	/**
+	 * System property that instructs Spring to generate bytecode for method
+	 * invocations where possible, instead of using reflection: "spring.methodaccessor.generate".
+	 * <p>The default is "false". Generated classes consume memory in the
+	 * ClassLoader of each target class, so this is only worthwhile for methods
+	 * that are invoked very frequently, such as controller methods.
+	 */
+	public static final String GENERATE_PROPERTY_NAME = "spring.methodaccessor.generate";
+
+	private static final boolean generate = SpringProperties.getFlag(GENERATE_PROPERTY_NAME);
+
+	private static final Log logger = LogFactory.getLog(MethodAccessorFactory.class);
+
+	private static final Map<Method, MethodAccessor> accessorCache =
+			new ConcurrentReferenceHashMap<Method, MethodAccessor>(256);
+
+
+	/**
+	 * Return the {@link MethodAccessor} for the given method.
+	 * @param method the method to invoke
+	 * @return the accessor (never {@code null})
+	 */
+	public static MethodAccessor getMethodAccessor(Method method) {
+		Assert.notNull(method, "Method must not be null");
+		MethodAccessor accessor = accessorCache.get(method);
+		if (accessor == null) {
+			accessor = createMethodAccessor(method);
+			accessorCache.put(method, accessor);
+		}
+		return accessor;
+	}
+
+	private static MethodAccessor createMethodAccessor(Method method) {
+		if (generate && isGenerationCandidate(method)) {
+			try {
+				Class<?> declaringClass = method.getDeclaringClass();
+				FastClass fastClass = FastClass.create(declaringClass.getClassLoader(), declaringClass);
+				int index = fastClass.getIndex(method.getName(), method.getParameterTypes());
+				if (index >= 0) {
+					return new FastClassMethodAccessor(method, fastClass, index);
+				}
+			}
+			catch (Throwable ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Could not generate accessor for method [" + method +
+							"] - falling back to reflection: " + ex);
+				}
+			}
+		}
+		return new ReflectiveMethodAccessor(method);
+	}
+
+	private static boolean isGenerationCandidate(Method method) {
+		Class<?> declaringClass = method.getDeclaringClass();
+		return (Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(declaringClass.getModifiers()) &&
+				!method.isBridge() && declaringClass.getClassLoader() != null);
+	}
+
+
+	/**
+	 * Accessor that invokes the method through reflection.
+	 */
+	private static class ReflectiveMethodAccessor implements MethodAccessor {
+
+		private final Method method;
+
+		public ReflectiveMethodAccessor(Method method) {
+			ReflectionUtils.makeAccessible(method);
+			this.method = method;
+		}
+
+		@Override
+		public Method getMethod() {
+			return this.method;
+		}
+
+		@Override
+		public Object invoke(Object target, Object... args)
+				throws IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+
+			return this.method.invoke(target, args);
+		}
+
+		@Override
+		public String toString() {
+			return "Reflective accessor for " + this.method;
+		}
+	}
+
+
+	/**
+	 * Accessor that invokes the method through a generated {@link FastClass}.
+	 * Target and arguments are checked upfront, since the generated class would
+	 * otherwise report a mismatch as an {@link InvocationTargetException}.
+	 */
+	private static class FastClassMethodAccessor implements MethodAccessor {
+
+		private final Method method;
+
+		private final FastClass fastClass;
+
+		private final int index;
+
+		private final boolean isStatic;
+
+		private final Class<?>[] parameterTypes;
+
+		private final boolean[] primitiveParameters;
+
+		public FastClassMethodAccessor(Method method, FastClass fastClass, int index) {
+			this.method = method;
+			this.fastClass = fastClass;
+			this.index = index;
+			this.isStatic = Modifier.isStatic(method.getModifiers());
+			this.parameterTypes = method.getParameterTypes();
+			this.primitiveParameters = new boolean[this.parameterTypes.length];
+			for (int i = 0; i < this.parameterTypes.length; i++) {
+				this.primitiveParameters[i] = this.parameterTypes[i].isPrimitive();
+				this.parameterTypes[i] = ClassUtils.resolvePrimitiveIfNecessary(this.parameterTypes[i]);
+			}
+		}
+
+		@Override
+		public Method getMethod() {
+			return this.method;
+		}
+
+		@Override
+		public Object invoke(Object target, Object... args)
+				throws IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+
+			if (!this.isStatic && !this.method.getDeclaringClass().isInstance(target)) {
+				throw new IllegalArgumentException("object is not an instance of declaring class");
+			}
+			int argCount = (args != null ? args.length : 0);
+			if (argCount != this.parameterTypes.length) {
+				throw new IllegalArgumentException("wrong number of arguments");
+			}
+			for (int i = 0; i < argCount; i++) {
+				Object arg = args[i];
+				if (arg != null ? !this.parameterTypes[i].isInstance(arg) : this.primitiveParameters[i]) {
+					throw new IllegalArgumentException("argument type mismatch");
+				}
+			}
+			return this.fastClass.invoke(this.index, target, args);
+		}
+
+		@Override
+		public String toString() {
+			return "Generated accessor for " + this.method;
+		}
+	}
+
+}
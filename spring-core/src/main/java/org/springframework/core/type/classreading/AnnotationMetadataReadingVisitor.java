@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,9 @@
 
 package org.springframework.core.type.classreading;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -24,11 +27,15 @@ import java.util.Map;
 import java.util.Set;
 
 import org.springframework.asm.AnnotationVisitor;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
 import org.springframework.asm.MethodVisitor;
 import org.springframework.asm.Opcodes;
+import org.springframework.asm.SpringAsmInfo;
 import org.springframework.asm.Type;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.io.Resource;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.MethodMetadata;
 import org.springframework.util.LinkedMultiValueMap;
@@ -39,6 +46,12 @@ import org.springframework.util.MultiValueMap;
  * well as for the annotations defined on the class, exposing them through
  * the {@link org.springframework.core.type.AnnotationMetadata} interface.
  *
+ * <p>If created with a resource for deferred method metadata, methods are
+ * skipped while visiting the class, and method-level annotations are only
+ * read from that resource once {@link #hasAnnotatedMethods} or
+ * {@link #getAnnotatedMethods} is called. Most scanned classes are rejected
+ * based on their class-level annotations, so their methods never get parsed.
+ *
  * @author Juergen Hoeller
  * @author Mark Fisher
  * @author Costin Leau
@@ -64,18 +77,43 @@ public class AnnotationMetadataReadingVisitor extends ClassMetadataReadingVisito
 
 	protected final Set<MethodMetadata> methodMetadataSet = new LinkedHashSet<MethodMetadata>(4);
 
+	/** The class file to read method metadata from on demand, or {@code null} once read */
+	private volatile Resource deferredMethodMetadataSource;
+
 
 	public AnnotationMetadataReadingVisitor(ClassLoader classLoader) {
 		this.classLoader = classLoader;
 	}
 
+	/**
+	 * Create a visitor that skips methods, reading their metadata from the
+	 * given class file resource when first needed.
+	 * @param classLoader the ClassLoader to use
+	 * @param deferredMethodMetadataSource the class file being visited, which must
+	 * be readable again, i.e. not an {@link Resource#isOpen() open} resource
+	 * @since 4.3.13
+	 */
+	AnnotationMetadataReadingVisitor(ClassLoader classLoader, Resource deferredMethodMetadataSource) {
+		this.classLoader = classLoader;
+		this.deferredMethodMetadataSource = deferredMethodMetadataSource;
+	}
+
 
 	@Override
 	public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+		if (this.deferredMethodMetadataSource != null) {
+			// Method metadata to be read on demand - let ASM skip the method entirely.
+			return null;
+		}
+		MethodVisitor methodVisitor = createMethodVisitor(access, name, desc);
+		return (methodVisitor != null ? methodVisitor : super.visitMethod(access, name, desc, signature, exceptions));
+	}
+
+	private MethodVisitor createMethodVisitor(int access, String name, String desc) {
 		// Skip bridge methods - we're only interested in original annotation-defining user methods.
 		// On JDK 8, we'd otherwise run into double detection of the same annotated method...
 		if ((access & Opcodes.ACC_BRIDGE) != 0) {
-			return super.visitMethod(access, name, desc, signature, exceptions);
+			return null;
 		}
 		return new MethodMetadataReadingVisitor(name, access, getClassName(),
 				Type.getReturnType(desc).getClassName(), this.classLoader, this.methodMetadataSet);
@@ -158,7 +196,7 @@ public class AnnotationMetadataReadingVisitor extends ClassMetadataReadingVisito
 
 	@Override
 	public boolean hasAnnotatedMethods(String annotationName) {
-		for (MethodMetadata methodMetadata : this.methodMetadataSet) {
+		for (MethodMetadata methodMetadata : getMethodMetadataSet()) {
 			if (methodMetadata.isAnnotated(annotationName)) {
 				return true;
 			}
@@ -169,7 +207,7 @@ public class AnnotationMetadataReadingVisitor extends ClassMetadataReadingVisito
 	@Override
 	public Set<MethodMetadata> getAnnotatedMethods(String annotationName) {
 		Set<MethodMetadata> annotatedMethods = new LinkedHashSet<MethodMetadata>(4);
-		for (MethodMetadata methodMetadata : this.methodMetadataSet) {
+		for (MethodMetadata methodMetadata : getMethodMetadataSet()) {
 			if (methodMetadata.isAnnotated(annotationName)) {
 				annotatedMethods.add(methodMetadata);
 			}
@@ -177,4 +215,55 @@ public class AnnotationMetadataReadingVisitor extends ClassMetadataReadingVisito
 		return annotatedMethods;
 	}
 
+	/**
+	 * Return the metadata of the annotated methods, reading it from the
+	 * deferred class file resource first if necessary.
+	 */
+	private Set<MethodMetadata> getMethodMetadataSet() {
+		if (this.deferredMethodMetadataSource != null) {
+			synchronized (this.methodMetadataSet) {
+				Resource source = this.deferredMethodMetadataSource;
+				if (source != null) {
+					readMethodMetadata(source);
+					this.deferredMethodMetadataSource = null;
+				}
+			}
+		}
+		return this.methodMetadataSet;
+	}
+
+	private void readMethodMetadata(Resource source) {
+		try {
+			InputStream is = new BufferedInputStream(source.getInputStream());
+			try {
+				new ClassReader(is).accept(new MethodMetadataVisitor(),
+						ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+			}
+			finally {
+				is.close();
+			}
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(
+					"Failed to read method metadata for class '" + getClassName() + "' from " + source, ex);
+		}
+	}
+
+
+	/**
+	 * ASM class visitor that only collects the method metadata of the
+	 * class, for deferred reading.
+	 */
+	private class MethodMetadataVisitor extends ClassVisitor {
+
+		public MethodMetadataVisitor() {
+			super(SpringAsmInfo.ASM_VERSION);
+		}
+
+		@Override
+		public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+			return createMethodVisitor(access, name, desc);
+		}
+	}
+
 }
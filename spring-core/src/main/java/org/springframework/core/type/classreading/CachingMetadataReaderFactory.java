@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,17 +17,24 @@
 package org.springframework.core.type.classreading;
 
 import java.io.IOException;
-import java.util.LinkedHashMap;
-import java.util.Map;
 
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.ConcurrentLruCache;
 
 /**
  * Caching implementation of the {@link MetadataReaderFactory} interface,
  * caching a {@link MetadataReader} instance per Spring {@link Resource} handle
  * (i.e. per ".class" file).
  *
+ * <p>The cache is safe for concurrent use, e.g. by a parallel classpath scan:
+ * lookups do not lock on the entire cache, and class files are parsed outside
+ * of any lock (possibly more than once if requested concurrently).
+ *
+ * <p>On a miss, the {@link SharedMetadataReaderCache} is consulted by default,
+ * so that factories in different components and contexts do not parse the
+ * same class file more than once.
+ *
  * @author Juergen Hoeller
  * @author Costin Leau
  * @since 2.5
@@ -40,14 +47,10 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 
 	private volatile int cacheLimit = DEFAULT_CACHE_LIMIT;
 
-	@SuppressWarnings("serial")
-	private final Map<Resource, MetadataReader> metadataReaderCache =
-			new LinkedHashMap<Resource, MetadataReader>(DEFAULT_CACHE_LIMIT, 0.75f, true) {
-				@Override
-				protected boolean removeEldestEntry(Map.Entry<Resource, MetadataReader> eldest) {
-					return size() > getCacheLimit();
-				}
-			};
+	private volatile ConcurrentLruCache<Resource, MetadataReader> metadataReaderCache =
+			new ConcurrentLruCache<Resource, MetadataReader>(DEFAULT_CACHE_LIMIT);
+
+	private SharedMetadataReaderCache sharedCache = SharedMetadataReaderCache.getSharedInstance();
 
 
 	/**
@@ -81,6 +84,9 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 	 */
 	public void setCacheLimit(int cacheLimit) {
 		this.cacheLimit = cacheLimit;
+		if (cacheLimit > 0 && cacheLimit != this.metadataReaderCache.getSizeLimit()) {
+			this.metadataReaderCache = new ConcurrentLruCache<Resource, MetadataReader>(cacheLimit);
+		}
 	}
 
 	/**
@@ -90,29 +96,49 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 		return this.cacheLimit;
 	}
 
+	/**
+	 * Specify the cache to consult for metadata that is not in the local cache
+	 * of this factory.
+	 * <p>Default is the JVM-wide {@link SharedMetadataReaderCache#getSharedInstance()
+	 * shared instance}. Set this to {@code null} to read class files on every
+	 * local cache miss.
+	 * @since 4.3.13
+	 */
+	public void setSharedCache(SharedMetadataReaderCache sharedCache) {
+		this.sharedCache = sharedCache;
+	}
+
+	/**
+	 * Return the cache consulted for metadata that is not in the local cache.
+	 * @since 4.3.13
+	 */
+	public SharedMetadataReaderCache getSharedCache() {
+		return this.sharedCache;
+	}
+
 
 	@Override
 	public MetadataReader getMetadataReader(Resource resource) throws IOException {
 		if (getCacheLimit() <= 0) {
 			return super.getMetadataReader(resource);
 		}
-		synchronized (this.metadataReaderCache) {
-			MetadataReader metadataReader = this.metadataReaderCache.get(resource);
-			if (metadataReader == null) {
-				metadataReader = super.getMetadataReader(resource);
-				this.metadataReaderCache.put(resource, metadataReader);
-			}
-			return metadataReader;
+		ConcurrentLruCache<Resource, MetadataReader> cache = this.metadataReaderCache;
+		MetadataReader metadataReader = cache.get(resource);
+		if (metadataReader == null) {
+			metadataReader = (this.sharedCache != null ?
+					this.sharedCache.getMetadataReader(resource, getResourceLoader().getClassLoader()) :
+					super.getMetadataReader(resource));
+			cache.put(resource, metadataReader);
 		}
+		return metadataReader;
 	}
 
 	/**
 	 * Clear the entire MetadataReader cache, removing all cached class metadata.
+	 * <p>Does not affect the {@link #setSharedCache shared cache}.
 	 */
 	public void clearCache() {
-		synchronized (this.metadataReaderCache) {
-			this.metadataReaderCache.clear();
-		}
+		this.metadataReaderCache.clear();
 	}
 
 }
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.SpringProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * JVM-wide cache of {@link MetadataReader} instances, shared by all
+ * {@link CachingMetadataReaderFactory} instances so that a class file is
+ * parsed once per refresh rather than once per factory, and so that the
+ * parent and child contexts of an application can reuse each other's metadata.
+ *
+ * <p>Entries are kept per {@link ClassLoader}, keyed by the URL of the class
+ * file and validated against its last-modified timestamp on every lookup.
+ * Each ClassLoader gets a bounded LRU cache of {@link SoftReference softly}
+ * referenced entries, so that cached metadata can be reclaimed under memory
+ * pressure. Resources that do not expose a URL are not cached.
+ *
+ * <p>Application contexts {@link #retainClassLoader retain} their ClassLoader
+ * while active and {@link #releaseClassLoader release} it on close: the
+ * entries for a ClassLoader are removed once its last user releases it,
+ * without affecting contexts that still use other ClassLoaders. The cache
+ * of each ClassLoader is itself softly referenced, so that the cache of a
+ * ClassLoader that is never released can be reclaimed under memory pressure.
+ *
+ * <p>The size limit per ClassLoader defaults to {@value #DEFAULT_CACHE_LIMIT}
+ * and can be changed through the {@value #CACHE_LIMIT_PROPERTY_NAME}
+ * system property.
+ *
+ * @since 4.3.13
+ * @see CachingMetadataReaderFactory#setSharedCache
+ */
+public class SharedMetadataReaderCache {
+
+	/** Default maximum number of entries per ClassLoader: 4096 */
+	public static final int DEFAULT_CACHE_LIMIT = 4096;
+
+	/**
+	 * System property that determines the maximum number of entries per
+	 * ClassLoader for the shared instance.
+	 * @see #getSharedInstance()
+	 */
+	public static final String CACHE_LIMIT_PROPERTY_NAME = "spring.metadata.cache.limit";
+
+
+	private static final SharedMetadataReaderCache sharedInstance =
+			new SharedMetadataReaderCache(determineSharedCacheLimit());
+
+
+	private final int cacheLimit;
+
+	private final ConcurrentMap<ClassLoader, ConcurrentLruCache<String, SoftReference<CachedMetadataReader>>> caches =
+			new ConcurrentReferenceHashMap<ClassLoader, ConcurrentLruCache<String, SoftReference<CachedMetadataReader>>>(
+					16, ConcurrentReferenceHashMap.ReferenceType.SOFT);
+
+	/** Number of users per ClassLoader, synchronized on the map itself */
+	private final Map<ClassLoader, Integer> userCounts = new WeakHashMap<ClassLoader, Integer>();
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+
+	/**
+	 * Create a new SharedMetadataReaderCache with the given limit.
+	 * @param cacheLimit the maximum number of entries per ClassLoader
+	 */
+	public SharedMetadataReaderCache(int cacheLimit) {
+		Assert.isTrue(cacheLimit > 0, "Cache limit must be greater than 0");
+		this.cacheLimit = cacheLimit;
+	}
+
+
+	/**
+	 * Return the JVM-wide shared instance, as used by default by
+	 * {@link CachingMetadataReaderFactory}.
+	 */
+	public static SharedMetadataReaderCache getSharedInstance() {
+		return sharedInstance;
+	}
+
+	private static int determineSharedCacheLimit() {
+		String limit = SpringProperties.getProperty(CACHE_LIMIT_PROPERTY_NAME);
+		if (limit != null) {
+			try {
+				int value = Integer.parseInt(limit.trim());
+				if (value > 0) {
+					return value;
+				}
+			}
+			catch (NumberFormatException ex) {
+				// fall back to default
+			}
+		}
+		return DEFAULT_CACHE_LIMIT;
+	}
+
+
+	/**
+	 * Return the maximum number of entries per ClassLoader.
+	 */
+	public int getCacheLimit() {
+		return this.cacheLimit;
+	}
+
+	/**
+	 * Return the cached MetadataReader for the given resource, reading it
+	 * if not cached yet or if the class file changed since.
+	 * @param resource the class file resource
+	 * @param classLoader the ClassLoader that the metadata is read for
+	 * @return the MetadataReader (never {@code null})
+	 * @throws IOException in case of I/O failure
+	 */
+	public MetadataReader getMetadataReader(Resource resource, ClassLoader classLoader) throws IOException {
+		String url;
+		long lastModified;
+		try {
+			url = resource.getURL().toExternalForm();
+			lastModified = resource.lastModified();
+		}
+		catch (IOException ex) {
+			// Not resolvable to a URL or timestamp - cannot be cached safely
+			return new SimpleMetadataReader(resource, classLoader);
+		}
+
+		ConcurrentLruCache<String, SoftReference<CachedMetadataReader>> cache = getCache(classLoader);
+		SoftReference<CachedMetadataReader> ref = cache.get(url);
+		CachedMetadataReader cached = (ref != null ? ref.get() : null);
+		if (cached != null && cached.lastModified == lastModified) {
+			this.hitCount.incrementAndGet();
+			return cached.metadataReader;
+		}
+		this.missCount.incrementAndGet();
+		MetadataReader metadataReader = new SimpleMetadataReader(resource, classLoader);
+		cache.put(url, new SoftReference<CachedMetadataReader>(new CachedMetadataReader(metadataReader, lastModified)));
+		return metadataReader;
+	}
+
+	private ConcurrentLruCache<String, SoftReference<CachedMetadataReader>> getCache(ClassLoader classLoader) {
+		ConcurrentLruCache<String, SoftReference<CachedMetadataReader>> cache = this.caches.get(classLoader);
+		if (cache == null) {
+			cache = new ConcurrentLruCache<String, SoftReference<CachedMetadataReader>>(this.cacheLimit);
+			ConcurrentLruCache<String, SoftReference<CachedMetadataReader>> existing =
+					this.caches.putIfAbsent(classLoader, cache);
+			if (existing != null) {
+				cache = existing;
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Register a user of the cached metadata for the given ClassLoader,
+	 * e.g. an application context that is being refreshed.
+	 * @param classLoader the ClassLoader to register a user for
+	 * @see #releaseClassLoader
+	 */
+	public void retainClassLoader(ClassLoader classLoader) {
+		synchronized (this.userCounts) {
+			Integer count = this.userCounts.get(classLoader);
+			this.userCounts.put(classLoader, (count != null ? count + 1 : 1));
+		}
+	}
+
+	/**
+	 * Unregister a user of the cached metadata for the given ClassLoader,
+	 * e.g. an application context that is being closed, removing the cached
+	 * metadata for that ClassLoader (but not for any other ClassLoader)
+	 * once no users are left.
+	 * @param classLoader the ClassLoader to unregister a user for
+	 * @see #retainClassLoader
+	 */
+	public void releaseClassLoader(ClassLoader classLoader) {
+		synchronized (this.userCounts) {
+			Integer count = this.userCounts.get(classLoader);
+			if (count != null && count > 1) {
+				this.userCounts.put(classLoader, count - 1);
+				return;
+			}
+			this.userCounts.remove(classLoader);
+			this.caches.remove(classLoader);
+		}
+	}
+
+	/**
+	 * Remove the cached metadata for the given ClassLoader and any
+	 * ClassLoader underneath it, e.g. when an application is undeployed.
+	 * <p>Note that this affects all users of those ClassLoaders.
+	 * @param classLoader the ClassLoader to clear the cache for
+	 */
+	public void clearClassLoader(ClassLoader classLoader) {
+		for (Iterator<ClassLoader> it = this.caches.keySet().iterator(); it.hasNext();) {
+			ClassLoader candidate = it.next();
+			if (isUnderneathClassLoader(candidate, classLoader)) {
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Remove all cached metadata.
+	 */
+	public void clear() {
+		this.caches.clear();
+	}
+
+	/**
+	 * Return the number of cached entries across all ClassLoaders,
+	 * including entries whose soft reference has been cleared.
+	 */
+	public int size() {
+		int size = 0;
+		for (ConcurrentLruCache<String, SoftReference<CachedMetadataReader>> cache : this.caches.values()) {
+			size += cache.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Return the number of lookups that found valid cached metadata.
+	 */
+	public long getHitCount() {
+		return this.hitCount.get();
+	}
+
+	/**
+	 * Return the number of lookups that had to read the class file.
+	 */
+	public long getMissCount() {
+		return this.missCount.get();
+	}
+
+	private static boolean isUnderneathClassLoader(ClassLoader candidate, ClassLoader parent) {
+		if (candidate == parent) {
+			return true;
+		}
+		if (candidate == null) {
+			return false;
+		}
+		ClassLoader classLoaderToCheck = candidate;
+		while (classLoaderToCheck != null) {
+			classLoaderToCheck = classLoaderToCheck.getParent();
+			if (classLoaderToCheck == parent) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return "SharedMetadataReaderCache [size = " + size() + ", hits = " + getHitCount() +
+				", misses = " + getMissCount() + "]";
+	}
+
+
+	/**
+	 * A cached MetadataReader along with the last-modified timestamp
+	 * of the class file it was read from.
+	 */
+	private static class CachedMetadataReader {
+
+		private final MetadataReader metadataReader;
+
+		private final long lastModified;
+
+		public CachedMetadataReader(MetadataReader metadataReader, long lastModified) {
+			this.metadataReader = metadataReader;
+			this.lastModified = lastModified;
+		}
+	}
+
+}
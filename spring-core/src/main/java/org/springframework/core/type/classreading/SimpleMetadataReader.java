@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2013 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -60,8 +60,14 @@ final class SimpleMetadataReader implements MetadataReader {
 			is.close();
 		}
 
-		AnnotationMetadataReadingVisitor visitor = new AnnotationMetadataReadingVisitor(classLoader);
-		classReader.accept(visitor, ClassReader.SKIP_DEBUG);
+		// Method bodies are never needed for metadata. If the resource can be read
+		// again, read the class header and class-level annotations only: method
+		// metadata is then read on demand. A resource with an open stream, e.g. an
+		// InputStreamResource, can only be read once and gets visited completely.
+		AnnotationMetadataReadingVisitor visitor = (resource.isOpen() ?
+				new AnnotationMetadataReadingVisitor(classLoader) :
+				new AnnotationMetadataReadingVisitor(classLoader, resource));
+		classReader.accept(visitor, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
 
 		this.annotationMetadata = visitor;
 		// (since AnnotationMetadataReadingVisitor extends ClassMetadataReadingVisitor)
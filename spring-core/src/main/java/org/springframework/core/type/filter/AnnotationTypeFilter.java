@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -77,6 +77,15 @@ public class AnnotationTypeFilter extends AbstractTypeHierarchyTraversingFilter
 	}
 
 
+	/**
+	 * Return the {@link Annotation} that this instance is using to filter
+	 * candidates.
+	 * @since 4.3.13
+	 */
+	public final Class<? extends Annotation> getAnnotationType() {
+		return this.annotationType;
+	}
+
 	@Override
 	protected boolean matchSelf(MetadataReader metadataReader) {
 		AnnotationMetadata metadata = metadataReader.getAnnotationMetadata();
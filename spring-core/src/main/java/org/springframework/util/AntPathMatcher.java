@@ -108,6 +108,14 @@ public class AntPathMatcher implements PathMatcher {
 		this.pathSeparatorPatternCache = new PathSeparatorPatternCache(this.pathSeparator);
 	}
 
+	/**
+	 * Return the path separator used for pattern parsing.
+	 * @since 4.3.13
+	 */
+	public String getPathSeparator() {
+		return this.pathSeparator;
+	}
+
 	/**
 	 * Specify whether to perform pattern matching in a case-sensitive fashion.
 	 * <p>Default is {@code true}. Switch this to {@code false} for case-insensitive matching.
@@ -593,6 +601,34 @@ public class AntPathMatcher implements PathMatcher {
 		return new AntPatternComparator(path);
 	}
 
+	/**
+	 * Compile the given pattern into a {@link PathPattern} that can be matched
+	 * repeatedly against paths parsed via {@link #parsePath(String)}, with the
+	 * same results as {@link #match}, {@link #extractUriTemplateVariables} and
+	 * {@link #extractPathWithinPattern} on this matcher.
+	 * <p>The compiled pattern captures the current path separator, case
+	 * sensitivity and token trimming settings. It does not reflect methods
+	 * overridden in subclasses, so callers should only use it when matching
+	 * with a plain {@code AntPathMatcher}.
+	 * @param pattern the pattern to compile
+	 * @return the compiled pattern
+	 * @since 4.3.13
+	 */
+	public PathPattern compile(String pattern) {
+		return new PathPattern(pattern, this.pathSeparator, this.caseSensitive, this.trimTokens);
+	}
+
+	/**
+	 * Split the given path into segments once, for matching against any number
+	 * of patterns compiled via {@link #compile(String)}.
+	 * @param path the path to parse
+	 * @return the parsed path
+	 * @since 4.3.13
+	 */
+	public PathPattern.ParsedPath parsePath(String path) {
+		return new PathPattern.ParsedPath(path, this.pathSeparator, this.trimTokens);
+	}
+
 
 	/**
 	 * Tests whether or not a string matches against a pattern via a {@link Pattern}.
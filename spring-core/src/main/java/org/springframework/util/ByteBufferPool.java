@@ -0,0 +1,56 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Strategy for reusing {@link ByteBuffer ByteBuffers}, e.g. as temporary
+ * buffers for encoding and copying content, instead of allocating a new
+ * buffer for every such operation.
+ *
+ * <p>A buffer obtained through {@link #acquire} is owned by the caller until
+ * it is handed back through {@link #release}, after which it must not be used
+ * anymore. Buffers that are not released are simply left to garbage collection.
+ *
+ * @since 4.3.13
+ * @see StripedByteBufferPool
+ * @see StreamUtils#copy(java.io.InputStream, java.io.OutputStream, ByteBufferPool)
+ */
+public interface ByteBufferPool {
+
+	/**
+	 * Obtain a buffer of the pool's default capacity.
+	 * @return a cleared buffer, ready for writing
+	 */
+	ByteBuffer acquire();
+
+	/**
+	 * Obtain a buffer with at least the given capacity.
+	 * @param minCapacity the minimum capacity of the buffer
+	 * @return a cleared buffer, ready for writing
+	 */
+	ByteBuffer acquire(int minCapacity);
+
+	/**
+	 * Return the given buffer to the pool, for reuse by subsequent
+	 * {@link #acquire} calls. Buffers not suitable for reuse are ignored.
+	 * @param buffer the buffer to return (may be {@code null})
+	 */
+	void release(ByteBuffer buffer);
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Simple LRU (Least Recently Used) cache, bounded by a specified cache limit.
+ *
+ * <p>This implementation is backed by a {@code ConcurrentHashMap} for storing
+ * the cached values and a {@code ConcurrentLinkedQueue} for ordering the keys
+ * and choosing the least recently used key when the cache is at full capacity.
+ * It is meant for small caches of frequently requested values, e.g. parsed
+ * header values.
+ *
+ * <p>A cache hit is lock-free only while the cache is below its size limit.
+ * Once the cache is full, every hit takes a shared read lock and moves its key
+ * to the tail of the queue, which is a linear-time operation in the number of
+ * cached entries. Callers on a hot path with a cache that is expected to stay
+ * full should prefer a lock-free structure with eviction on write instead.
+ *
+ * <p>Neither keys nor values may be {@code null}.
+ *
+ * @since 4.3.13
+ * @param <K> the type of the key used for cache retrieval
+ * @param <V> the type of the cached values
+ */
+public class ConcurrentLruCache<K, V> {
+
+	private final int sizeLimit;
+
+	private final ConcurrentHashMap<K, V> cache;
+
+	private final ConcurrentLinkedQueue<K> queue = new ConcurrentLinkedQueue<K>();
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private volatile int size = 0;
+
+
+	/**
+	 * Create a new cache instance with the given limit.
+	 * @param sizeLimit the maximum number of entries in the cache
+	 */
+	public ConcurrentLruCache(int sizeLimit) {
+		Assert.isTrue(sizeLimit > 0, "Cache size limit must be greater than 0");
+		this.sizeLimit = sizeLimit;
+		this.cache = new ConcurrentHashMap<K, V>(sizeLimit, 0.75f);
+	}
+
+
+	/**
+	 * Return the value for the given key, marking it as most recently used.
+	 * <p>Once the cache is full, this takes a read lock and reorders the
+	 * key queue in linear time; see the class-level documentation.
+	 * @param key the key to look up
+	 * @return the cached value, or {@code null} if none
+	 */
+	public V get(K key) {
+		V cached = this.cache.get(key);
+		if (cached != null) {
+			if (this.size < this.sizeLimit) {
+				return cached;
+			}
+			this.lock.readLock().lock();
+			try {
+				if (this.queue.remove(key)) {
+					this.queue.add(key);
+				}
+				return cached;
+			}
+			finally {
+				this.lock.readLock().unlock();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Cache the given value for the given key, evicting the least recently
+	 * used entry if the cache is at full capacity.
+	 * @param key the key to cache the value for
+	 * @param value the value to cache
+	 */
+	public void put(K key, V value) {
+		this.lock.writeLock().lock();
+		try {
+			if (this.cache.containsKey(key)) {
+				this.queue.remove(key);
+			}
+			else if (this.size == this.sizeLimit) {
+				K leastUsed = this.queue.poll();
+				if (leastUsed != null) {
+					V evicted = this.cache.remove(leastUsed);
+					if (evicted != null) {
+						onEviction(leastUsed, evicted);
+					}
+				}
+			}
+			this.queue.add(key);
+			this.cache.put(key, value);
+			this.size = this.cache.size();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove the entry for the given key, if any.
+	 * @param key the key to remove
+	 * @return {@code true} if an entry was removed
+	 */
+	public boolean remove(K key) {
+		this.lock.writeLock().lock();
+		try {
+			boolean removed = (this.cache.remove(key) != null);
+			if (removed) {
+				this.queue.remove(key);
+				this.size = this.cache.size();
+			}
+			return removed;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove all entries from the cache.
+	 */
+	public void clear() {
+		this.lock.writeLock().lock();
+		try {
+			this.cache.clear();
+			this.queue.clear();
+			this.size = 0;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Return the current number of entries in the cache.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Return the maximum number of entries in the cache.
+	 */
+	public int getSizeLimit() {
+		return this.sizeLimit;
+	}
+
+	/**
+	 * Template method invoked after the least recently used entry has been
+	 * evicted to make room for a new entry, while holding the write lock.
+	 * <p>The default implementation is empty.
+	 * @param key the key of the evicted entry
+	 * @param value the evicted value
+	 */
+	protected void onEviction(K key, V value) {
+	}
+
+	@Override
+	public String toString() {
+		return "ConcurrentLruCache [size = " + this.size + ", limit = " + this.sizeLimit + "]";
+	}
+
+}
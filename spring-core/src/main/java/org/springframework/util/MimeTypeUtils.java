@@ -50,6 +50,10 @@ public abstract class MimeTypeUtils {
 
 	private static Charset US_ASCII = Charset.forName("US-ASCII");
 
+	/** Recently parsed mime types, keyed by the raw mime type String */
+	private static final ConcurrentLruCache<String, MimeType> cachedMimeTypes =
+			new ConcurrentLruCache<String, MimeType>(64);
+
 	/**
 	 * Comparator used by {@link #sortBySpecificity(List)}.
 	 */
@@ -232,6 +236,8 @@ public abstract class MimeTypeUtils {
 
 	/**
 	 * Parse the given String into a single {@code MimeType}.
+	 * <p>As of 4.3.13, recently parsed mime types are cached, since the same
+	 * header values tend to be parsed over and over again.
 	 * @param mimeType the string to parse
 	 * @return the mime type
 	 * @throws InvalidMimeTypeException if the string cannot be parsed
@@ -240,7 +246,19 @@ public abstract class MimeTypeUtils {
 		if (!StringUtils.hasLength(mimeType)) {
 			throw new InvalidMimeTypeException(mimeType, "'mimeType' must not be empty");
 		}
+		// Do not cache multipart mime types with random boundaries
+		if (mimeType.startsWith("multipart")) {
+			return parseMimeTypeInternal(mimeType);
+		}
+		MimeType cached = cachedMimeTypes.get(mimeType);
+		if (cached == null) {
+			cached = parseMimeTypeInternal(mimeType);
+			cachedMimeTypes.put(mimeType, cached);
+		}
+		return cached;
+	}
 
+	private static MimeType parseMimeTypeInternal(String mimeType) {
 		int index = mimeType.indexOf(';');
 		String fullType = (index >= 0 ? mimeType.substring(0, index) : mimeType).trim();
 		if (fullType.isEmpty()) {
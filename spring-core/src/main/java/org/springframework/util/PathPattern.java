@@ -0,0 +1,518 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * An immutable, pre-parsed representation of an Ant-style path pattern,
+ * obtained from {@link AntPathMatcher#compile(String)} and matching with the
+ * same semantics as the {@code AntPathMatcher} it was compiled with.
+ *
+ * <p>A compiled pattern matches against a {@link ParsedPath} that has been
+ * split into segments once, typically once per request, instead of
+ * re-tokenizing the path for every pattern. Literal segments, <code>{var}</code>
+ * segments and {@code *} segments are matched without regular expressions;
+ * only segments mixing wildcards or regular expressions with other characters
+ * use a pre-compiled {@link java.util.regex.Pattern}. The information needed to
+ * order patterns by specificity is computed once as well, see
+ * {@link #getSpecificityComparator(String)}.
+ *
+ * <p>Note that compiled patterns reflect the settings of the
+ * {@code AntPathMatcher} at the time of compilation, but not any methods
+ * overridden in {@code AntPathMatcher} subclasses.
+ *
+ * @since 4.3.13
+ * @see AntPathMatcher#compile(String)
+ * @see AntPathMatcher#parsePath(String)
+ */
+public final class PathPattern {
+
+	private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{[^/]+?\\}");
+
+
+	private final String pattern;
+
+	private final String pathSeparator;
+
+	private final boolean startsWithSeparator;
+
+	private final boolean endsWithSeparator;
+
+	private final Segment[] segments;
+
+	private final int uriVars;
+
+	private final int singleWildcards;
+
+	private final int doubleWildcards;
+
+	private final boolean catchAllPattern;
+
+	private final boolean prefixPattern;
+
+	private final int length;
+
+
+	PathPattern(String pattern, String pathSeparator, boolean caseSensitive, boolean trimTokens) {
+		Assert.notNull(pattern, "Pattern must not be null");
+		this.pattern = pattern;
+		this.pathSeparator = pathSeparator;
+		this.startsWithSeparator = pattern.startsWith(pathSeparator);
+		this.endsWithSeparator = pattern.endsWith(pathSeparator);
+		String[] tokens = StringUtils.tokenizeToStringArray(pattern, pathSeparator, trimTokens, true);
+		this.segments = new Segment[tokens.length];
+		for (int i = 0; i < tokens.length; i++) {
+			this.segments[i] = new Segment(tokens[i], caseSensitive);
+		}
+
+		// Specificity, as determined by AntPathMatcher.AntPatternComparator
+		int uriVars = 0;
+		int singleWildcards = 0;
+		int doubleWildcards = 0;
+		int pos = 0;
+		while (pos < pattern.length()) {
+			if (pattern.charAt(pos) == '{') {
+				uriVars++;
+				pos++;
+			}
+			else if (pattern.charAt(pos) == '*') {
+				if (pos + 1 < pattern.length() && pattern.charAt(pos + 1) == '*') {
+					doubleWildcards++;
+					pos += 2;
+				}
+				else if (pos > 0 && !pattern.substring(pos - 1).equals(".*")) {
+					singleWildcards++;
+					pos++;
+				}
+				else {
+					pos++;
+				}
+			}
+			else {
+				pos++;
+			}
+		}
+		this.uriVars = uriVars;
+		this.singleWildcards = singleWildcards;
+		this.doubleWildcards = doubleWildcards;
+		this.catchAllPattern = pattern.equals("/**");
+		this.prefixPattern = (!this.catchAllPattern && pattern.endsWith("/**"));
+		this.length = (uriVars == 0 ? pattern.length() : VARIABLE_PATTERN.matcher(pattern).replaceAll("#").length());
+	}
+
+
+	/**
+	 * Return the pattern String this instance was compiled from.
+	 */
+	public String getPatternString() {
+		return this.pattern;
+	}
+
+	/**
+	 * Whether this pattern matches the given path.
+	 * @param path the path, parsed by the same {@code AntPathMatcher}
+	 * @see AntPathMatcher#match(String, String)
+	 */
+	public boolean matches(ParsedPath path) {
+		return doMatch(path, null);
+	}
+
+	/**
+	 * Match the given path and extract the URI template variables.
+	 * @param path the path, parsed by the same {@code AntPathMatcher}
+	 * @return a map with the variable names as keys, and the variable values as values
+	 * @throws IllegalStateException if the pattern does not match the path
+	 * @see AntPathMatcher#extractUriTemplateVariables(String, String)
+	 */
+	public Map<String, String> extractUriTemplateVariables(ParsedPath path) {
+		Map<String, String> variables = new LinkedHashMap<String, String>();
+		if (!doMatch(path, variables)) {
+			throw new IllegalStateException("Pattern \"" + this.pattern + "\" is not a match for \"" +
+					path.getPath() + "\"");
+		}
+		return variables;
+	}
+
+	/**
+	 * Determine the pattern-mapped part of the given path, assuming that
+	 * {@link #matches} returns {@code true} for it.
+	 * @param path the path, parsed by the same {@code AntPathMatcher}
+	 * @see AntPathMatcher#extractPathWithinPattern(String, String)
+	 */
+	public String extractPathWithinPattern(ParsedPath path) {
+		String[] pathParts = path.segments;
+		StringBuilder builder = new StringBuilder();
+		boolean pathStarted = false;
+		for (int segment = 0; segment < this.segments.length; segment++) {
+			if (this.segments[segment].hasWildcard) {
+				for (; segment < pathParts.length; segment++) {
+					if (pathStarted || (segment == 0 && !this.startsWithSeparator)) {
+						builder.append(this.pathSeparator);
+					}
+					builder.append(pathParts[segment]);
+					pathStarted = true;
+				}
+			}
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Return a {@link Comparator} that sorts compiled patterns in order of
+	 * specificity for the given path, consistent with
+	 * {@link AntPathMatcher#getPatternComparator(String)}.
+	 * @param path the full path to use for comparison
+	 */
+	public static Comparator<PathPattern> getSpecificityComparator(final String path) {
+		return new Comparator<PathPattern>() {
+			@Override
+			public int compare(PathPattern pattern1, PathPattern pattern2) {
+				return pattern1.compareSpecificity(pattern2, path);
+			}
+		};
+	}
+
+	/**
+	 * Compare this pattern to the given pattern to determine which one is the
+	 * more specific regarding the given path.
+	 * @param other the pattern to compare to
+	 * @param path the full path to use for comparison
+	 * @return a negative integer, zero, or a positive integer as this pattern is
+	 * more specific, equally specific, or less specific than the other pattern
+	 */
+	public int compareSpecificity(PathPattern other, String path) {
+		if (this.catchAllPattern && other.catchAllPattern) {
+			return 0;
+		}
+		else if (this.catchAllPattern) {
+			return 1;
+		}
+		else if (other.catchAllPattern) {
+			return -1;
+		}
+
+		boolean thisEqualsPath = this.pattern.equals(path);
+		boolean otherEqualsPath = other.pattern.equals(path);
+		if (thisEqualsPath && otherEqualsPath) {
+			return 0;
+		}
+		else if (thisEqualsPath) {
+			return -1;
+		}
+		else if (otherEqualsPath) {
+			return 1;
+		}
+
+		if (this.prefixPattern && other.doubleWildcards == 0) {
+			return 1;
+		}
+		else if (other.prefixPattern && this.doubleWildcards == 0) {
+			return -1;
+		}
+
+		if (getTotalCount() != other.getTotalCount()) {
+			return getTotalCount() - other.getTotalCount();
+		}
+
+		if (this.length != other.length) {
+			return other.length - this.length;
+		}
+
+		if (this.singleWildcards < other.singleWildcards) {
+			return -1;
+		}
+		else if (other.singleWildcards < this.singleWildcards) {
+			return 1;
+		}
+
+		if (this.uriVars < other.uriVars) {
+			return -1;
+		}
+		else if (other.uriVars < this.uriVars) {
+			return 1;
+		}
+
+		return 0;
+	}
+
+	private int getTotalCount() {
+		return this.uriVars + this.singleWildcards + (2 * this.doubleWildcards);
+	}
+
+	/**
+	 * Same algorithm as {@code AntPathMatcher#doMatch} for a full match,
+	 * operating on pre-parsed segments.
+	 */
+	private boolean doMatch(ParsedPath path, Map<String, String> uriTemplateVariables) {
+		if (path.startsWithSeparator != this.startsWithSeparator) {
+			return false;
+		}
+
+		Segment[] pattDirs = this.segments;
+		String[] pathDirs = path.segments;
+
+		int pattIdxStart = 0;
+		int pattIdxEnd = pattDirs.length - 1;
+		int pathIdxStart = 0;
+		int pathIdxEnd = pathDirs.length - 1;
+
+		// Match all elements up to the first **
+		while (pattIdxStart <= pattIdxEnd && pathIdxStart <= pathIdxEnd) {
+			Segment pattDir = pattDirs[pattIdxStart];
+			if (pattDir.type == SegmentType.DOUBLE_WILDCARD) {
+				break;
+			}
+			if (!pattDir.matches(pathDirs[pathIdxStart], uriTemplateVariables)) {
+				return false;
+			}
+			pattIdxStart++;
+			pathIdxStart++;
+		}
+
+		if (pathIdxStart > pathIdxEnd) {
+			// Path is exhausted, only match if rest of pattern is * or **'s
+			if (pattIdxStart > pattIdxEnd) {
+				return (this.endsWithSeparator == path.endsWithSeparator);
+			}
+			if (pattIdxStart == pattIdxEnd && pattDirs[pattIdxStart].type == SegmentType.WILDCARD &&
+					path.endsWithSeparator) {
+				return true;
+			}
+			return isDoubleWildcards(pattIdxStart, pattIdxEnd);
+		}
+		else if (pattIdxStart > pattIdxEnd) {
+			// String not exhausted, but pattern is. Failure.
+			return false;
+		}
+
+		// up to last '**'
+		while (pattIdxStart <= pattIdxEnd && pathIdxStart <= pathIdxEnd) {
+			Segment pattDir = pattDirs[pattIdxEnd];
+			if (pattDir.type == SegmentType.DOUBLE_WILDCARD) {
+				break;
+			}
+			if (!pattDir.matches(pathDirs[pathIdxEnd], uriTemplateVariables)) {
+				return false;
+			}
+			pattIdxEnd--;
+			pathIdxEnd--;
+		}
+		if (pathIdxStart > pathIdxEnd) {
+			// String is exhausted
+			return isDoubleWildcards(pattIdxStart, pattIdxEnd);
+		}
+
+		while (pattIdxStart != pattIdxEnd && pathIdxStart <= pathIdxEnd) {
+			int patIdxTmp = -1;
+			for (int i = pattIdxStart + 1; i <= pattIdxEnd; i++) {
+				if (pattDirs[i].type == SegmentType.DOUBLE_WILDCARD) {
+					patIdxTmp = i;
+					break;
+				}
+			}
+			if (patIdxTmp == pattIdxStart + 1) {
+				// '**/**' situation, so skip one
+				pattIdxStart++;
+				continue;
+			}
+			// Find the pattern between padIdxStart & padIdxTmp in str between
+			// strIdxStart & strIdxEnd
+			int patLength = (patIdxTmp - pattIdxStart - 1);
+			int strLength = (pathIdxEnd - pathIdxStart + 1);
+			int foundIdx = -1;
+
+			strLoop:
+			for (int i = 0; i <= strLength - patLength; i++) {
+				for (int j = 0; j < patLength; j++) {
+					Segment subPat = pattDirs[pattIdxStart + j + 1];
+					String subStr = pathDirs[pathIdxStart + i + j];
+					if (!subPat.matches(subStr, uriTemplateVariables)) {
+						continue strLoop;
+					}
+				}
+				foundIdx = pathIdxStart + i;
+				break;
+			}
+
+			if (foundIdx == -1) {
+				return false;
+			}
+
+			pattIdxStart = patIdxTmp;
+			pathIdxStart = foundIdx + patLength;
+		}
+
+		return isDoubleWildcards(pattIdxStart, pattIdxEnd);
+	}
+
+	private boolean isDoubleWildcards(int start, int end) {
+		for (int i = start; i <= end; i++) {
+			if (this.segments[i].type != SegmentType.DOUBLE_WILDCARD) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof PathPattern)) {
+			return false;
+		}
+		PathPattern otherPattern = (PathPattern) other;
+		return (this.pattern.equals(otherPattern.pattern) && this.pathSeparator.equals(otherPattern.pathSeparator));
+	}
+
+	@Override
+	public int hashCode() {
+		return this.pattern.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return this.pattern;
+	}
+
+
+	private enum SegmentType {
+
+		LITERAL, VARIABLE, WILDCARD, DOUBLE_WILDCARD, REGEX
+	}
+
+
+	/**
+	 * A single pattern segment between path separators.
+	 */
+	private static final class Segment {
+
+		private final SegmentType type;
+
+		private final String value;
+
+		private final boolean hasWildcard;
+
+		private final AntPathMatcher.AntPathStringMatcher stringMatcher;
+
+		public Segment(String token, boolean caseSensitive) {
+			this.hasWildcard = (token.indexOf('*') != -1 || token.indexOf('?') != -1);
+			if ("**".equals(token)) {
+				this.type = SegmentType.DOUBLE_WILDCARD;
+				this.value = token;
+			}
+			else if ("*".equals(token)) {
+				this.type = SegmentType.WILDCARD;
+				this.value = token;
+			}
+			else if (isSimpleVariable(token)) {
+				this.type = SegmentType.VARIABLE;
+				this.value = token.substring(1, token.length() - 1);
+			}
+			else if (caseSensitive && !this.hasWildcard && token.indexOf('{') == -1) {
+				this.type = SegmentType.LITERAL;
+				this.value = token;
+			}
+			else {
+				this.type = SegmentType.REGEX;
+				this.value = token;
+			}
+			this.stringMatcher = (this.type == SegmentType.REGEX ?
+					new AntPathMatcher.AntPathStringMatcher(token, caseSensitive) : null);
+		}
+
+		/**
+		 * Whether the token is a single "{name}" variable without a regular
+		 * expression, matching any segment in its entirety.
+		 */
+		private static boolean isSimpleVariable(String token) {
+			if (token.length() < 3 || token.charAt(0) != '{' || token.charAt(token.length() - 1) != '}') {
+				return false;
+			}
+			for (int i = 1; i < token.length() - 1; i++) {
+				char c = token.charAt(i);
+				if (c == '{' || c == '}' || c == ':' || c == '/' || c == '\\') {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		public boolean matches(String str, Map<String, String> uriTemplateVariables) {
+			switch (this.type) {
+				case LITERAL:
+					return this.value.equals(str);
+				case VARIABLE:
+					if (uriTemplateVariables != null) {
+						uriTemplateVariables.put(this.value, str);
+					}
+					return true;
+				case WILDCARD:
+					return true;
+				case REGEX:
+					return this.stringMatcher.matchStrings(str, uriTemplateVariables);
+				default:
+					return false;
+			}
+		}
+	}
+
+
+	/**
+	 * A path split into segments by an {@link AntPathMatcher}, to be matched
+	 * against any number of {@link PathPattern PathPatterns} compiled by the
+	 * same matcher.
+	 * @see AntPathMatcher#parsePath(String)
+	 */
+	public static final class ParsedPath {
+
+		private final String path;
+
+		private final String[] segments;
+
+		private final boolean startsWithSeparator;
+
+		private final boolean endsWithSeparator;
+
+		ParsedPath(String path, String pathSeparator, boolean trimTokens) {
+			Assert.notNull(path, "Path must not be null");
+			this.path = path;
+			this.segments = StringUtils.tokenizeToStringArray(path, pathSeparator, trimTokens, true);
+			this.startsWithSeparator = path.startsWith(pathSeparator);
+			this.endsWithSeparator = path.endsWith(pathSeparator);
+		}
+
+		/**
+		 * Return the original path.
+		 */
+		public String getPath() {
+			return this.path;
+		}
+
+		@Override
+		public String toString() {
+			return this.path;
+		}
+	}
+
+}
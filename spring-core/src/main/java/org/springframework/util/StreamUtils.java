@@ -26,12 +26,18 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 
 /**
  * Simple utility methods for dealing with streams. The copy methods of this class are
  * similar to those defined in {@link FileCopyUtils} except that all affected streams are
- * left open when done. All copy methods use a block size of 4096 bytes.
+ * left open when done. All copy methods use a block size of 4096 bytes, except for
+ * the variants that take a {@link ByteBufferPool}, which copy through a pooled buffer.
  *
  * <p>Mainly for use within the framework, but also useful for application code.
  *
@@ -45,6 +51,9 @@ public abstract class StreamUtils {
 
 	public static final int BUFFER_SIZE = 4096;
 
+	/** Minimum buffer size for encoding, to hold the bytes of at least one char */
+	private static final int MIN_ENCODING_BUFFER_SIZE = 64;
+
 	private static final byte[] EMPTY_CONTENT = new byte[0];
 
 
@@ -119,6 +128,60 @@ public abstract class StreamUtils {
 		writer.flush();
 	}
 
+	/**
+	 * Copy the contents of the given String to the given output OutputStream,
+	 * encoding it through a buffer obtained from the given pool.
+	 * Leaves the stream open when done.
+	 * @param in the String to copy from
+	 * @param charset the Charset
+	 * @param out the OutputStream to copy to
+	 * @param bufferPool the pool to obtain the encoding buffer from
+	 * @throws IOException in case of I/O errors
+	 * @since 4.3.13
+	 */
+	public static void copy(String in, Charset charset, OutputStream out, ByteBufferPool bufferPool)
+			throws IOException {
+
+		Assert.notNull(in, "No input String specified");
+		Assert.notNull(charset, "No charset specified");
+		Assert.notNull(out, "No OutputStream specified");
+		Assert.notNull(bufferPool, "No ByteBufferPool specified");
+
+		ByteBuffer buffer = bufferPool.acquire(MIN_ENCODING_BUFFER_SIZE);
+		try {
+			if (!buffer.hasArray()) {
+				copy(in, charset, out);
+				return;
+			}
+			CharsetEncoder encoder = charset.newEncoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			CharBuffer chars = CharBuffer.wrap(in);
+			CoderResult result;
+			do {
+				result = encoder.encode(chars, buffer, true);
+				writeAndClear(buffer, out);
+			}
+			while (result.isOverflow());
+			do {
+				result = encoder.flush(buffer);
+				writeAndClear(buffer, out);
+			}
+			while (result.isOverflow());
+			out.flush();
+		}
+		finally {
+			bufferPool.release(buffer);
+		}
+	}
+
+	private static void writeAndClear(ByteBuffer buffer, OutputStream out) throws IOException {
+		if (buffer.position() > 0) {
+			out.write(buffer.array(), buffer.arrayOffset(), buffer.position());
+		}
+		buffer.clear();
+	}
+
 	/**
 	 * Copy the contents of the given InputStream to the given OutputStream.
 	 * Leaves both streams open when done.
@@ -142,6 +205,44 @@ public abstract class StreamUtils {
 		return byteCount;
 	}
 
+	/**
+	 * Copy the contents of the given InputStream to the given OutputStream,
+	 * through a buffer obtained from the given pool.
+	 * Leaves both streams open when done.
+	 * @param in the InputStream to copy from
+	 * @param out the OutputStream to copy to
+	 * @param bufferPool the pool to obtain the copy buffer from
+	 * @return the number of bytes copied
+	 * @throws IOException in case of I/O errors
+	 * @since 4.3.13
+	 */
+	public static int copy(InputStream in, OutputStream out, ByteBufferPool bufferPool) throws IOException {
+		Assert.notNull(in, "No InputStream specified");
+		Assert.notNull(out, "No OutputStream specified");
+		Assert.notNull(bufferPool, "No ByteBufferPool specified");
+
+		ByteBuffer buffer = bufferPool.acquire();
+		try {
+			if (!buffer.hasArray()) {
+				return copy(in, out);
+			}
+			byte[] array = buffer.array();
+			int offset = buffer.arrayOffset();
+			int length = buffer.capacity();
+			int byteCount = 0;
+			int bytesRead = -1;
+			while ((bytesRead = in.read(array, offset, length)) != -1) {
+				out.write(array, offset, bytesRead);
+				byteCount += bytesRead;
+			}
+			out.flush();
+			return byteCount;
+		}
+		finally {
+			bufferPool.release(buffer);
+		}
+	}
+
 	/**
 	 * Copy a range of content of the given InputStream to the given OutputStream.
 	 * <p>If the specified range exceeds the length of the InputStream, this copies
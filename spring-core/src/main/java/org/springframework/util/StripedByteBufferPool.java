@@ -0,0 +1,193 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link ByteBufferPool} implementation that keeps fixed-size buffers
+ * ("slabs"), either on the heap or direct, in a number of free lists.
+ *
+ * <p>Each thread is assigned a free list ("stripe") by its id, so that
+ * concurrent threads rarely contend for the same list. Each stripe holds
+ * up to a fixed number of buffers, bounding the memory retained by the pool.
+ * Requests for buffers larger than the slab size are served with newly
+ * allocated buffers, which are not pooled on release.
+ *
+ * @since 4.3.13
+ */
+public class StripedByteBufferPool implements ByteBufferPool {
+
+	/** The default slab size: 8 KB */
+	public static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+
+	/** The default number of buffers retained per stripe: 4 */
+	public static final int DEFAULT_BUFFERS_PER_STRIPE = 4;
+
+	private static volatile StripedByteBufferPool sharedInstance;
+
+
+	private final int bufferSize;
+
+	private final boolean direct;
+
+	private final Stripe[] stripes;
+
+	private final int stripeMask;
+
+
+	/**
+	 * Create a new pool of heap buffers with the default slab size.
+	 */
+	public StripedByteBufferPool() {
+		this(DEFAULT_BUFFER_SIZE, false);
+	}
+
+	/**
+	 * Create a new pool with the given slab size.
+	 * @param bufferSize the capacity of each pooled buffer
+	 * @param direct whether to pool direct buffers rather than heap buffers
+	 */
+	public StripedByteBufferPool(int bufferSize, boolean direct) {
+		this(bufferSize, direct, DEFAULT_BUFFERS_PER_STRIPE);
+	}
+
+	/**
+	 * Create a new pool with the given slab size and stripe capacity.
+	 * @param bufferSize the capacity of each pooled buffer
+	 * @param direct whether to pool direct buffers rather than heap buffers
+	 * @param buffersPerStripe the maximum number of buffers retained per stripe
+	 */
+	public StripedByteBufferPool(int bufferSize, boolean direct, int buffersPerStripe) {
+		Assert.isTrue(bufferSize > 0, "Buffer size must be greater than 0");
+		Assert.isTrue(buffersPerStripe > 0, "Buffers per stripe must be greater than 0");
+		this.bufferSize = bufferSize;
+		this.direct = direct;
+		int stripeCount = 1;
+		while (stripeCount < Runtime.getRuntime().availableProcessors() * 2) {
+			stripeCount <<= 1;
+		}
+		this.stripes = new Stripe[stripeCount];
+		for (int i = 0; i < stripeCount; i++) {
+			this.stripes[i] = new Stripe(buffersPerStripe);
+		}
+		this.stripeMask = stripeCount - 1;
+	}
+
+
+	/**
+	 * Return the capacity of each pooled buffer.
+	 */
+	public int getBufferSize() {
+		return this.bufferSize;
+	}
+
+	/**
+	 * Return whether this pool holds direct buffers.
+	 */
+	public boolean isDirect() {
+		return this.direct;
+	}
+
+	@Override
+	public ByteBuffer acquire() {
+		return acquire(this.bufferSize);
+	}
+
+	@Override
+	public ByteBuffer acquire(int minCapacity) {
+		if (minCapacity > this.bufferSize) {
+			return allocate(minCapacity);
+		}
+		ByteBuffer buffer = getStripe().poll();
+		if (buffer != null) {
+			buffer.clear();
+			return buffer;
+		}
+		return allocate(this.bufferSize);
+	}
+
+	@Override
+	public void release(ByteBuffer buffer) {
+		if (buffer != null && buffer.capacity() == this.bufferSize && buffer.isDirect() == this.direct &&
+				!buffer.isReadOnly()) {
+			getStripe().offer(buffer);
+		}
+	}
+
+	private ByteBuffer allocate(int capacity) {
+		return (this.direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
+	}
+
+	private Stripe getStripe() {
+		return this.stripes[(int) Thread.currentThread().getId() & this.stripeMask];
+	}
+
+	@Override
+	public String toString() {
+		return "StripedByteBufferPool [bufferSize = " + this.bufferSize + ", direct = " + this.direct +
+				", stripes = " + this.stripes.length + "]";
+	}
+
+
+	/**
+	 * Return a shared pool of heap buffers with the default slab size,
+	 * lazily building it once needed.
+	 * @return the shared {@code ByteBufferPool} instance (never {@code null})
+	 */
+	public static ByteBufferPool getSharedInstance() {
+		if (sharedInstance == null) {
+			synchronized (StripedByteBufferPool.class) {
+				if (sharedInstance == null) {
+					sharedInstance = new StripedByteBufferPool();
+				}
+			}
+		}
+		return sharedInstance;
+	}
+
+
+	/**
+	 * A bounded free list of buffers.
+	 */
+	private static class Stripe {
+
+		private final ByteBuffer[] buffers;
+
+		private int count;
+
+		public Stripe(int capacity) {
+			this.buffers = new ByteBuffer[capacity];
+		}
+
+		public synchronized ByteBuffer poll() {
+			if (this.count == 0) {
+				return null;
+			}
+			ByteBuffer buffer = this.buffers[--this.count];
+			this.buffers[this.count] = null;
+			return buffer;
+		}
+
+		public synchronized void offer(ByteBuffer buffer) {
+			if (this.count < this.buffers.length) {
+				this.buffers[this.count++] = buffer;
+			}
+		}
+	}
+
+}
@@ -12,6 +12,7 @@ import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.core.Ordered;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.HttpRequestHandler;
 import org.springframework.web.context.request.WebRequestInterceptor;
@@ -42,6 +43,10 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 
     private final List<HandlerInterceptor> adaptedInterceptors = new ArrayList<HandlerInterceptor>();
 
+    //按查找路径缓存的匹配拦截器, 仅缓存字面映射的路径, 拦截器或路径匹配器变化时清空
+    private final ConcurrentLruCache<String, HandlerInterceptor[]> matchingInterceptorCache =
+            new ConcurrentLruCache<String, HandlerInterceptor[]>(256);
+
     private final UrlBasedCorsConfigurationSource globalCorsConfigSource = new UrlBasedCorsConfigurationSource();
 
     private CorsProcessor corsProcessor = new DefaultCorsProcessor();
@@ -107,6 +112,7 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
         Assert.notNull(pathMatcher, "PathMatcher must not be null");
         this.pathMatcher = pathMatcher;
         this.globalCorsConfigSource.setPathMatcher(pathMatcher);
+        this.matchingInterceptorCache.clear();
     }
 
     //获取路径匹配器
@@ -127,6 +133,7 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
      */
     public void setInterceptors(Object... interceptors) {
         this.interceptors.addAll(Arrays.asList(interceptors));
+        this.matchingInterceptorCache.clear();
     }
 
     /**
@@ -175,6 +182,7 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
         detectMappedInterceptors(this.adaptedInterceptors);
         //初始化拦截器
         initInterceptors();
+        this.matchingInterceptorCache.clear();
     }
 
     //拓展拦截器
@@ -270,19 +278,43 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 
     //获取处理器执行链
     protected HandlerExecutionChain getHandlerExecutionChain(Object handler, HttpServletRequest request) {
-        HandlerExecutionChain chain = (handler instanceof HandlerExecutionChain ? (HandlerExecutionChain) handler : new HandlerExecutionChain(handler));
-        String lookupPath = this.urlPathHelper.getLookupPathForRequest(request);
-        for (HandlerInterceptor interceptor : this.adaptedInterceptors) {
-            if (interceptor instanceof MappedInterceptor) {
-                MappedInterceptor mappedInterceptor = (MappedInterceptor) interceptor;
-                if (mappedInterceptor.matches(lookupPath, this.pathMatcher)) {
-                    chain.addInterceptor(mappedInterceptor.getInterceptor());
+        String lookupPath = this.urlPathHelper.getRequestPath(request).getLookupPath();
+        // Only literal mappings have a bounded set of lookup paths worth caching
+        HandlerInterceptor[] interceptors = getMatchingInterceptors(lookupPath, isDirectlyMappedPath(lookupPath));
+        if (handler instanceof HandlerExecutionChain) {
+            HandlerExecutionChain chain = (HandlerExecutionChain) handler;
+            chain.addInterceptors(interceptors);
+            return chain;
+        }
+        return new HandlerExecutionChain(handler, (interceptors.length > 0 ? interceptors.clone() : null));
+    }
+
+    //查找路径是否被直接(而非通过模式)映射, 仅缓存此类路径的匹配拦截器, 默认为false
+    protected boolean isDirectlyMappedPath(String lookupPath) {
+        return false;
+    }
+
+    //获取与查找路径匹配的拦截器, 映射拦截器的匹配只取决于查找路径
+    private HandlerInterceptor[] getMatchingInterceptors(String lookupPath, boolean cacheable) {
+        HandlerInterceptor[] interceptors = (cacheable ? this.matchingInterceptorCache.get(lookupPath) : null);
+        if (interceptors == null) {
+            List<HandlerInterceptor> matchingInterceptors = new ArrayList<HandlerInterceptor>(this.adaptedInterceptors.size());
+            for (HandlerInterceptor interceptor : this.adaptedInterceptors) {
+                if (interceptor instanceof MappedInterceptor) {
+                    MappedInterceptor mappedInterceptor = (MappedInterceptor) interceptor;
+                    if (mappedInterceptor.matches(lookupPath, this.pathMatcher)) {
+                        matchingInterceptors.add(mappedInterceptor.getInterceptor());
+                    }
+                } else {
+                    matchingInterceptors.add(interceptor);
                 }
-            } else {
-                chain.addInterceptor(interceptor);
+            }
+            interceptors = matchingInterceptors.toArray(new HandlerInterceptor[matchingInterceptors.size()]);
+            if (cacheable) {
+                this.matchingInterceptorCache.put(lookupPath, interceptors);
             }
         }
-        return chain;
+        return interceptors;
     }
 
     /**
@@ -23,11 +23,10 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 
@@ -43,6 +42,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.RequestPath;
 
 /**
  * Abstract base class for {@link HandlerMapping} implementations that define
@@ -126,13 +126,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	 * Return a (read-only) map with all mappings and HandlerMethod's.
 	 */
 	public Map<T, HandlerMethod> getHandlerMethods() {
-		this.mappingRegistry.acquireReadLock();
-		try {
-			return Collections.unmodifiableMap(this.mappingRegistry.getMappings());
-		}
-		finally {
-			this.mappingRegistry.releaseReadLock();
-		}
+		return this.mappingRegistry.getMappings();
 	}
 
 	/**
@@ -305,26 +299,30 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	 */
 	@Override
 	protected HandlerMethod getHandlerInternal(HttpServletRequest request) throws Exception {
-		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
+		String lookupPath = getUrlPathHelper().getRequestPath(request).getLookupPath();
 		if (logger.isDebugEnabled()) {
 			logger.debug("Looking up handler method for path " + lookupPath);
 		}
-		this.mappingRegistry.acquireReadLock();
-		try {
-			HandlerMethod handlerMethod = lookupHandlerMethod(lookupPath, request);
-			if (logger.isDebugEnabled()) {
-				if (handlerMethod != null) {
-					logger.debug("Returning handler method [" + handlerMethod + "]");
-				}
-				else {
-					logger.debug("Did not find handler method for [" + lookupPath + "]");
-				}
+		HandlerMethod handlerMethod = lookupHandlerMethod(lookupPath, request);
+		if (logger.isDebugEnabled()) {
+			if (handlerMethod != null) {
+				logger.debug("Returning handler method [" + handlerMethod + "]");
+			}
+			else {
+				logger.debug("Did not find handler method for [" + lookupPath + "]");
 			}
-			return (handlerMethod != null ? handlerMethod.createWithResolvedBean() : null);
-		}
-		finally {
-			this.mappingRegistry.releaseReadLock();
 		}
+		return (handlerMethod != null ? handlerMethod.createWithResolvedBean() : null);
+	}
+
+	/**
+	 * Check the registered URLs of the mappings, as used for direct matches
+	 * in {@link #lookupHandlerMethod}.
+	 * @since 4.3.13
+	 */
+	@Override
+	protected boolean isDirectlyMappedPath(String lookupPath) {
+		return (this.mappingRegistry.getMappingsByUrl(lookupPath) != null);
 	}
 
 	/**
@@ -337,14 +335,15 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	 * @see #handleNoMatch(Set, String, HttpServletRequest)
 	 */
 	protected HandlerMethod lookupHandlerMethod(String lookupPath, HttpServletRequest request) throws Exception {
+		MappingSnapshot<T> snapshot = this.mappingRegistry.getSnapshot();
 		List<Match> matches = new ArrayList<Match>();
-		List<T> directPathMatches = this.mappingRegistry.getMappingsByUrl(lookupPath);
+		List<T> directPathMatches = snapshot.getMappingsByUrl(lookupPath);
 		if (directPathMatches != null) {
-			addMatchingMappings(directPathMatches, matches, request);
+			addMatchingMappings(directPathMatches, snapshot, matches, request);
 		}
 		if (matches.isEmpty()) {
-			// No choice but to go through all mappings...
-			addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			// Go through all mappings that can possibly match the lookup path...
+			addMatchingMappings(getCandidateMappings(lookupPath, snapshot, request), snapshot, matches, request);
 		}
 
 		if (!matches.isEmpty()) {
@@ -371,15 +370,36 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return bestMatch.handlerMethod;
 		}
 		else {
-			return handleNoMatch(this.mappingRegistry.getMappings().keySet(), lookupPath, request);
+			return handleNoMatch(snapshot.getMappings().keySet(), lookupPath, request);
+		}
+	}
+
+	/**
+	 * Return the mappings whose URL patterns may match the given lookup path,
+	 * as pre-selected by the {@link MappingPathTrie} of the registry. Falls
+	 * back on all registered mappings for any PathMatcher that the trie does
+	 * not {@linkplain MappingPathTrie#supports support}.
+	 */
+	private Collection<T> getCandidateMappings(String lookupPath, MappingSnapshot<T> snapshot,
+			HttpServletRequest request) {
+
+		if (MappingPathTrie.supports(getPathMatcher())) {
+			RequestPath requestPath = getUrlPathHelper().getRequestPath(request);
+			if (!requestPath.getLookupPath().equals(lookupPath)) {
+				requestPath = new RequestPath(lookupPath);
+			}
+			return snapshot.getMappingsByPathTrie(requestPath);
 		}
+		return snapshot.getMappings().keySet();
 	}
 
-	private void addMatchingMappings(Collection<T> mappings, List<Match> matches, HttpServletRequest request) {
+	private void addMatchingMappings(Collection<T> mappings, MappingSnapshot<T> snapshot,
+			List<Match> matches, HttpServletRequest request) {
+
 		for (T mapping : mappings) {
 			T match = getMatchingMapping(mapping, request);
 			if (match != null) {
-				matches.add(new Match(match, this.mappingRegistry.getMappings().get(mapping)));
+				matches.add(new Match(match, snapshot.getMappings().get(mapping)));
 			}
 		}
 	}
@@ -470,6 +490,11 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	 * A registry that maintains all mappings to handler methods, exposing methods
 	 * to perform lookups and providing concurrent access.
 	 *
+	 * <p>Registrations are applied to internal state under a lock. Lookups go
+	 * against an immutable {@link MappingSnapshot} of that state, published
+	 * through a volatile field and re-created on first access after a change,
+	 * so that the request path does not need to lock in steady state.
+	 *
 	 * <p>Package-private for testing purposes.
 	 */
 	class MappingRegistry {
@@ -480,62 +505,70 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> urlLookup = new LinkedMultiValueMap<String, T>();
 
-		private final Map<String, List<HandlerMethod>> nameLookup =
-				new ConcurrentHashMap<String, List<HandlerMethod>>();
+		private final Map<String, List<HandlerMethod>> nameLookup = new HashMap<String, List<HandlerMethod>>();
 
-		private final Map<HandlerMethod, CorsConfiguration> corsLookup =
-				new ConcurrentHashMap<HandlerMethod, CorsConfiguration>();
+		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new HashMap<HandlerMethod, CorsConfiguration>();
 
-		private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+		private volatile MappingSnapshot<T> snapshot;
 
 		/**
-		 * Return all mappings and handler methods. Not thread-safe.
-		 * @see #acquireReadLock()
+		 * Return the current immutable snapshot of all lookup structures,
+		 * creating it if the registry has been modified in the meantime.
+		 * Thread-safe for concurrent use.
 		 */
-		public Map<T, HandlerMethod> getMappings() {
-			return this.mappingLookup;
+		public MappingSnapshot<T> getSnapshot() {
+			MappingSnapshot<T> snapshot = this.snapshot;
+			if (snapshot == null) {
+				synchronized (this.registry) {
+					snapshot = this.snapshot;
+					if (snapshot == null) {
+						snapshot = createSnapshot();
+						this.snapshot = snapshot;
+					}
+				}
+			}
+			return snapshot;
 		}
 
-		/**
-		 * Return matches for the given URL path. Not thread-safe.
-		 * @see #acquireReadLock()
-		 */
-		public List<T> getMappingsByUrl(String urlPath) {
-			return this.urlLookup.get(urlPath);
+		private MappingSnapshot<T> createSnapshot() {
+			MappingPathTrie<T> pathTrie = new MappingPathTrie<T>();
+			for (T mapping : this.mappingLookup.keySet()) {
+				pathTrie.add(mapping, getMappingPathPatterns(mapping));
+			}
+			return new MappingSnapshot<T>(this.mappingLookup, this.urlLookup, pathTrie,
+					this.nameLookup, this.corsLookup);
 		}
 
 		/**
-		 * Return handler methods by mapping name. Thread-safe for concurrent use.
+		 * Return all mappings and handler methods. Thread-safe for concurrent use.
 		 */
-		public List<HandlerMethod> getHandlerMethodsByMappingName(String mappingName) {
-			return this.nameLookup.get(mappingName);
+		public Map<T, HandlerMethod> getMappings() {
+			return getSnapshot().getMappings();
 		}
 
 		/**
-		 * Return CORS configuration. Thread-safe for concurrent use.
+		 * Return matches for the given URL path. Thread-safe for concurrent use.
 		 */
-		public CorsConfiguration getCorsConfiguration(HandlerMethod handlerMethod) {
-			HandlerMethod original = handlerMethod.getResolvedFromHandlerMethod();
-			return this.corsLookup.get(original != null ? original : handlerMethod);
+		public List<T> getMappingsByUrl(String urlPath) {
+			return getSnapshot().getMappingsByUrl(urlPath);
 		}
 
 		/**
-		 * Acquire the read lock when using getMappings and getMappingsByUrl.
+		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
-		public void acquireReadLock() {
-			this.readWriteLock.readLock().lock();
+		public List<HandlerMethod> getHandlerMethodsByMappingName(String mappingName) {
+			return getSnapshot().getHandlerMethodsByMappingName(mappingName);
 		}
 
 		/**
-		 * Release the read lock after using getMappings and getMappingsByUrl.
+		 * Return CORS configuration. Thread-safe for concurrent use.
 		 */
-		public void releaseReadLock() {
-			this.readWriteLock.readLock().unlock();
+		public CorsConfiguration getCorsConfiguration(HandlerMethod handlerMethod) {
+			return getSnapshot().getCorsConfiguration(handlerMethod);
 		}
 
 		public void register(T mapping, Object handler, Method method) {
-			this.readWriteLock.writeLock().lock();
-			try {
+			synchronized (this.registry) {
 				HandlerMethod handlerMethod = createHandlerMethod(handler, method);
 				assertUniqueMethodMapping(handlerMethod, mapping);
 
@@ -561,9 +594,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				}
 
 				this.registry.put(mapping, new MappingRegistration<T>(mapping, handlerMethod, directUrls, name));
-			}
-			finally {
-				this.readWriteLock.writeLock().unlock();
+				this.snapshot = null;
 			}
 		}
 
@@ -617,8 +648,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		}
 
 		public void unregister(T mapping) {
-			this.readWriteLock.writeLock().lock();
-			try {
+			synchronized (this.registry) {
 				MappingRegistration<T> definition = this.registry.remove(mapping);
 				if (definition == null) {
 					return;
@@ -639,9 +669,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				removeMappingName(definition);
 
 				this.corsLookup.remove(definition.getHandlerMethod());
-			}
-			finally {
-				this.readWriteLock.writeLock().unlock();
+				this.snapshot = null;
 			}
 		}
 
@@ -670,6 +698,67 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	}
 
 
+	/**
+	 * An immutable copy of the lookup structures of a {@link MappingRegistry},
+	 * safe to be used by concurrent requests without locking.
+	 */
+	private static class MappingSnapshot<T> {
+
+		private final Map<T, HandlerMethod> mappingLookup;
+
+		private final Map<String, List<T>> urlLookup;
+
+		private final MappingPathTrie<T> pathTrie;
+
+		private final Map<String, List<HandlerMethod>> nameLookup;
+
+		private final Map<HandlerMethod, CorsConfiguration> corsLookup;
+
+		public MappingSnapshot(Map<T, HandlerMethod> mappingLookup, MultiValueMap<String, T> urlLookup,
+				MappingPathTrie<T> pathTrie, Map<String, List<HandlerMethod>> nameLookup,
+				Map<HandlerMethod, CorsConfiguration> corsLookup) {
+
+			this.mappingLookup = Collections.unmodifiableMap(new LinkedHashMap<T, HandlerMethod>(mappingLookup));
+			Map<String, List<T>> urls = new HashMap<String, List<T>>(urlLookup.size());
+			for (Map.Entry<String, List<T>> entry : urlLookup.entrySet()) {
+				urls.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<T>(entry.getValue())));
+			}
+			this.urlLookup = urls;
+			this.pathTrie = pathTrie;
+			// Name lists are replaced rather than modified by the registry
+			this.nameLookup = new HashMap<String, List<HandlerMethod>>(nameLookup);
+			this.corsLookup = new HashMap<HandlerMethod, CorsConfiguration>(corsLookup);
+		}
+
+		public Map<T, HandlerMethod> getMappings() {
+			return this.mappingLookup;
+		}
+
+		public List<T> getMappingsByUrl(String urlPath) {
+			return this.urlLookup.get(urlPath);
+		}
+
+		/**
+		 * Return the mappings that may match the given URL path, as pre-selected
+		 * by the path trie, in registration order per trie node.
+		 */
+		public Collection<T> getMappingsByPathTrie(RequestPath requestPath) {
+			Set<T> candidates = new LinkedHashSet<T>();
+			this.pathTrie.collectCandidates(requestPath, candidates);
+			return candidates;
+		}
+
+		public List<HandlerMethod> getHandlerMethodsByMappingName(String mappingName) {
+			return this.nameLookup.get(mappingName);
+		}
+
+		public CorsConfiguration getCorsConfiguration(HandlerMethod handlerMethod) {
+			HandlerMethod original = handlerMethod.getResolvedFromHandlerMethod();
+			return this.corsLookup.get(original != null ? original : handlerMethod);
+		}
+	}
+
+
 	private static class MappingRegistration<T> {
 
 		private final T mapping;
@@ -1,6 +1,7 @@
 package org.springframework.web.servlet.handler;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
@@ -9,9 +10,13 @@ import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import org.springframework.beans.BeansException;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.PathPattern;
 import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.util.RequestPath;
 
 /**
  * Abstract base class for URL-mapped {@link org.springframework.web.servlet.HandlerMapping}
@@ -42,6 +47,8 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 
 	private final Map<String, Object> handlerMap = new LinkedHashMap<String, Object>();
 
+	private volatile CompiledPatterns compiledPatterns;
+
 
 	/**
 	 * Set the root handler for this handler mapping, that is,
@@ -97,7 +104,7 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 	 */
 	@Override
 	protected Object getHandlerInternal(HttpServletRequest request) throws Exception {
-		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
+		String lookupPath = getUrlPathHelper().getRequestPath(request).getLookupPath();
 		Object handler = lookupHandler(lookupPath, request);
 		if (handler == null) {
 			// We need to care for the default handler directly, since we need to
@@ -144,21 +151,46 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 
 		// Pattern match?
 		List<String> matchingPatterns = new ArrayList<String>();
-		for (String registeredPattern : this.handlerMap.keySet()) {
-			if (getPathMatcher().match(registeredPattern, urlPath)) {
-				matchingPatterns.add(registeredPattern);
+		CompiledPatterns compiledPatterns = getCompiledPatterns();
+		PathPattern.ParsedPath parsedPath = null;
+		List<PathPattern> matchingPathPatterns = null;
+		if (compiledPatterns != null) {
+			RequestPath requestPath = getUrlPathHelper().getRequestPath(request);
+			parsedPath = (requestPath.getLookupPath().equals(urlPath) ?
+					requestPath.getParsedPath(compiledPatterns.getPathMatcher()) :
+					compiledPatterns.getPathMatcher().parsePath(urlPath));
+			matchingPathPatterns = compiledPatterns.getMatchingPatterns(parsedPath, useTrailingSlashMatch());
+			for (PathPattern matchingPathPattern : matchingPathPatterns) {
+				matchingPatterns.add(matchingPathPattern.getPatternString());
 			}
-			else if (useTrailingSlashMatch()) {
-				if (!registeredPattern.endsWith("/") && getPathMatcher().match(registeredPattern + "/", urlPath)) {
-					matchingPatterns.add(registeredPattern +"/");
+		}
+		else {
+			for (String registeredPattern : this.handlerMap.keySet()) {
+				if (getPathMatcher().match(registeredPattern, urlPath)) {
+					matchingPatterns.add(registeredPattern);
+				}
+				else if (useTrailingSlashMatch()) {
+					if (!registeredPattern.endsWith("/") && getPathMatcher().match(registeredPattern + "/", urlPath)) {
+						matchingPatterns.add(registeredPattern +"/");
+					}
 				}
 			}
 		}
 
 		String bestMatch = null;
-		Comparator<String> patternComparator = getPathMatcher().getPatternComparator(urlPath);
+		// Compiled patterns come sorted already, and get compared without an AntPatternComparator
+		Comparator<PathPattern> specificityComparator = null;
+		Comparator<String> patternComparator = null;
+		if (matchingPathPatterns != null) {
+			specificityComparator = PathPattern.getSpecificityComparator(urlPath);
+		}
+		else {
+			patternComparator = getPathMatcher().getPatternComparator(urlPath);
+		}
 		if (!matchingPatterns.isEmpty()) {
-			Collections.sort(matchingPatterns, patternComparator);
+			if (patternComparator != null) {
+				Collections.sort(matchingPatterns, patternComparator);
+			}
 			if (logger.isDebugEnabled()) {
 				logger.debug("Matching patterns for request [" + urlPath + "] are " + matchingPatterns);
 			}
@@ -181,14 +213,25 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 				handler = getApplicationContext().getBean(handlerName);
 			}
 			validateHandler(handler, request);
-			String pathWithinMapping = getPathMatcher().extractPathWithinPattern(bestMatch, urlPath);
+			PathPattern bestPathPattern = (matchingPathPatterns != null ? matchingPathPatterns.get(0) : null);
+			String pathWithinMapping = (bestPathPattern != null ? bestPathPattern.extractPathWithinPattern(parsedPath) :
+					getPathMatcher().extractPathWithinPattern(bestMatch, urlPath));
 
 			// There might be multiple 'best patterns', let's make sure we have the correct URI template variables
 			// for all of them
 			Map<String, String> uriTemplateVariables = new LinkedHashMap<String, String>();
-			for (String matchingPattern : matchingPatterns) {
-				if (patternComparator.compare(bestMatch, matchingPattern) == 0) {
-					Map<String, String> vars = getPathMatcher().extractUriTemplateVariables(matchingPattern, urlPath);
+			for (int i = 0; i < matchingPatterns.size(); i++) {
+				Map<String, String> vars = null;
+				if (bestPathPattern != null) {
+					PathPattern matchingPathPattern = matchingPathPatterns.get(i);
+					if (specificityComparator.compare(bestPathPattern, matchingPathPattern) == 0) {
+						vars = matchingPathPattern.extractUriTemplateVariables(parsedPath);
+					}
+				}
+				else if (patternComparator.compare(bestMatch, matchingPatterns.get(i)) == 0) {
+					vars = getPathMatcher().extractUriTemplateVariables(matchingPatterns.get(i), urlPath);
+				}
+				if (vars != null) {
 					Map<String, String> decodedVars = getUrlPathHelper().decodePathVariables(request, vars);
 					uriTemplateVariables.putAll(decodedVars);
 				}
@@ -203,6 +246,34 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 		return null;
 	}
 
+	/**
+	 * Paths registered as such, as looked up directly in {@link #lookupHandler},
+	 * as well as the root path.
+	 * @since 4.3.13
+	 */
+	@Override
+	protected boolean isDirectlyMappedPath(String lookupPath) {
+		return ("/".equals(lookupPath) || this.handlerMap.containsKey(lookupPath));
+	}
+
+	/**
+	 * Return the registered patterns compiled by the current PathMatcher, or
+	 * {@code null} if the PathMatcher is not a plain {@link AntPathMatcher}.
+	 * Patterns are compiled on first use after registration changes.
+	 */
+	private CompiledPatterns getCompiledPatterns() {
+		PathMatcher pathMatcher = getPathMatcher();
+		if (pathMatcher.getClass() != AntPathMatcher.class) {
+			return null;
+		}
+		CompiledPatterns compiledPatterns = this.compiledPatterns;
+		if (compiledPatterns == null || compiledPatterns.getPathMatcher() != pathMatcher) {
+			compiledPatterns = new CompiledPatterns((AntPathMatcher) pathMatcher, this.handlerMap.keySet());
+			this.compiledPatterns = compiledPatterns;
+		}
+		return compiledPatterns;
+	}
+
 	/**
 	 * Validate the given handler against the current request.
 	 * <p>The default implementation is empty. Can be overridden in subclasses,
@@ -259,7 +330,7 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 
 	@Override
 	public RequestMatchResult match(HttpServletRequest request, String pattern) {
-		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
+		String lookupPath = getUrlPathHelper().getRequestPath(request).getLookupPath();
 		if (getPathMatcher().match(pattern, lookupPath)) {
 			return new RequestMatchResult(pattern, lookupPath, getPathMatcher());
 		}
@@ -316,6 +387,7 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 			}
 			else {
 				this.handlerMap.put(urlPath, resolvedHandler);
+				this.compiledPatterns = null;
 				if (logger.isInfoEnabled()) {
 					logger.info("Mapped URL path [" + urlPath + "] onto " + getHandlerDescription(handler));
 				}
@@ -386,4 +458,58 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 		}
 	}
 
+
+
+	/**
+	 * The registered URL patterns, pre-compiled by a plain AntPathMatcher,
+	 * along with their trailing slash variants.
+	 */
+	private static class CompiledPatterns {
+
+		private final AntPathMatcher pathMatcher;
+
+		private final PathPattern[] patterns;
+
+		private final PathPattern[] trailingSlashPatterns;
+
+		public CompiledPatterns(AntPathMatcher pathMatcher, Collection<String> registeredPatterns) {
+			this.pathMatcher = pathMatcher;
+			this.patterns = new PathPattern[registeredPatterns.size()];
+			this.trailingSlashPatterns = new PathPattern[registeredPatterns.size()];
+			int i = 0;
+			for (String registeredPattern : registeredPatterns) {
+				this.patterns[i] = pathMatcher.compile(registeredPattern);
+				if (!registeredPattern.endsWith("/")) {
+					this.trailingSlashPatterns[i] = pathMatcher.compile(registeredPattern + "/");
+				}
+				i++;
+			}
+		}
+
+		public AntPathMatcher getPathMatcher() {
+			return this.pathMatcher;
+		}
+
+		/**
+		 * Return the patterns matching the given path, sorted by specificity.
+		 */
+		public List<PathPattern> getMatchingPatterns(PathPattern.ParsedPath path, boolean useTrailingSlashMatch) {
+			List<PathPattern> matchingPatterns = new ArrayList<PathPattern>();
+			for (int i = 0; i < this.patterns.length; i++) {
+				if (this.patterns[i].matches(path)) {
+					matchingPatterns.add(this.patterns[i]);
+				}
+				else if (useTrailingSlashMatch) {
+					if (this.trailingSlashPatterns[i] != null && this.trailingSlashPatterns[i].matches(path)) {
+						matchingPatterns.add(this.trailingSlashPatterns[i]);
+					}
+				}
+			}
+			if (matchingPatterns.size() > 1) {
+				Collections.sort(matchingPatterns, PathPattern.getSpecificityComparator(path.getPath()));
+			}
+			return matchingPatterns;
+		}
+	}
+
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.handler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.RequestPath;
+
+/**
+ * A path-segment trie over the URL patterns of registered mappings, used to
+ * narrow down the mappings that can possibly match a given lookup path
+ * before their conditions are evaluated.
+ *
+ * <p>Patterns are split on "/" into literal segments, single-segment patterns
+ * (containing {@code *}, {@code ?} or a <code>{var}</code> placeholder) and
+ * {@code **} segments, following the tokenization rules of
+ * {@link org.springframework.util.AntPathMatcher}. Candidate selection is
+ * deliberately conservative: literal segments are compared case-insensitively
+ * and a trailing file extension on the last path segment is tolerated, so that
+ * suffix pattern matching, trailing slash matching and case-insensitive path
+ * matching never cause a potential match to be dropped. The actual match is
+ * still decided by the mapping conditions.
+ *
+ * <p>Mappings without any URL pattern are returned for every lookup path.
+ * A trie only applies to patterns matched by a PathMatcher that it
+ * {@linkplain #supports supports}.
+ *
+ * <p>A trie is populated once and must not be modified after it has been
+ * published for concurrent lookups.
+ *
+ * @since 4.3.13
+ * @param <T> the mapping type
+ */
+class MappingPathTrie<T> {
+
+	private static final String PATH_SEPARATOR = AntPathMatcher.DEFAULT_PATH_SEPARATOR;
+
+	private static final String DOUBLE_WILDCARD = "**";
+
+
+	private final Node<T> root = new Node<T>();
+
+	private final List<T> unindexedMappings = new ArrayList<T>();
+
+
+	/**
+	 * Whether a trie can pre-select the mappings matched by the given PathMatcher:
+	 * only a plain {@link AntPathMatcher}, since the trie relies on its pattern
+	 * syntax and subclasses may override its matching methods, and only with the
+	 * default "/" path separator that the trie and the lookup path segments use.
+	 */
+	public static boolean supports(PathMatcher pathMatcher) {
+		return (pathMatcher.getClass() == AntPathMatcher.class &&
+				PATH_SEPARATOR.equals(((AntPathMatcher) pathMatcher).getPathSeparator()));
+	}
+
+
+	/**
+	 * Add the given mapping under each of its URL patterns.
+	 * @param mapping the mapping to add
+	 * @param patterns the URL patterns of the mapping, possibly empty
+	 */
+	public void add(T mapping, Collection<String> patterns) {
+		if (patterns.isEmpty()) {
+			this.unindexedMappings.add(mapping);
+			return;
+		}
+		for (String pattern : patterns) {
+			Node<T> node = this.root;
+			for (String segment : tokenize(pattern)) {
+				node = node.getOrCreateChild(segment);
+			}
+			if (!node.mappings.contains(mapping)) {
+				node.mappings.add(mapping);
+			}
+		}
+	}
+
+	/**
+	 * Add all mappings that may match the given lookup path to the given
+	 * collection, in addition to all mappings without URL patterns.
+	 * @param requestPath the lookup path of the current request
+	 * @param result the collection to add candidate mappings to; should be a
+	 * {@link java.util.Set} since a mapping may be reached more than once
+	 */
+	public void collectCandidates(RequestPath requestPath, Collection<T> result) {
+		result.addAll(this.unindexedMappings);
+		String[] segments = new String[requestPath.getSegmentCount()];
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = requestPath.getSegment(i).toLowerCase(Locale.ENGLISH);
+		}
+		collect(this.root, segments, 0, requestPath.hasTrailingSlash(), result);
+	}
+
+	private void collect(Node<T> node, String[] segments, int index, boolean trailingSlash, Collection<T> result) {
+		if (index == segments.length) {
+			result.addAll(node.mappings);
+			if (trailingSlash && node.wildcardChild != null) {
+				// "/path/*" matches "/path/"
+				result.addAll(node.wildcardChild.mappings);
+			}
+			if (node.doubleWildcardChild != null) {
+				collect(node.doubleWildcardChild, segments, index, trailingSlash, result);
+			}
+			return;
+		}
+		String segment = segments[index];
+		boolean lastSegment = (index == segments.length - 1);
+		if (node.literalChildren != null) {
+			Node<T> child = node.literalChildren.get(segment);
+			if (child != null) {
+				collect(child, segments, index + 1, trailingSlash, result);
+			}
+			if (lastSegment) {
+				// Suffix pattern match: "/path" matches "/path.json", "/path.tar.gz" etc
+				int dotIndex = segment.lastIndexOf('.');
+				while (dotIndex > 0) {
+					child = node.literalChildren.get(segment.substring(0, dotIndex));
+					if (child != null) {
+						collect(child, segments, index + 1, trailingSlash, result);
+					}
+					dotIndex = segment.lastIndexOf('.', dotIndex - 1);
+				}
+			}
+		}
+		if (lastSegment && segment.startsWith(".")) {
+			// Suffix pattern match: "/path/" matches "/path/.json"
+			result.addAll(node.mappings);
+		}
+		if (node.wildcardChild != null) {
+			collect(node.wildcardChild, segments, index + 1, trailingSlash, result);
+		}
+		if (node.doubleWildcardChild != null) {
+			for (int i = index; i <= segments.length; i++) {
+				collect(node.doubleWildcardChild, segments, i, trailingSlash, result);
+			}
+		}
+	}
+
+	private static String[] tokenize(String path) {
+		String[] segments = StringUtils.tokenizeToStringArray(path, PATH_SEPARATOR, false, true);
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = segments[i].toLowerCase(Locale.ENGLISH);
+		}
+		return segments;
+	}
+
+	private static boolean isWildcardSegment(String segment) {
+		return (segment.indexOf('*') != -1 || segment.indexOf('?') != -1 || segment.indexOf('{') != -1);
+	}
+
+
+	/**
+	 * A trie node with literal, single-segment pattern and {@code **} children.
+	 */
+	private static class Node<T> {
+
+		private Map<String, Node<T>> literalChildren;
+
+		private Node<T> wildcardChild;
+
+		private Node<T> doubleWildcardChild;
+
+		private final List<T> mappings = new ArrayList<T>(1);
+
+		public Node<T> getChild(String segment) {
+			if (DOUBLE_WILDCARD.equals(segment)) {
+				return this.doubleWildcardChild;
+			}
+			else if (isWildcardSegment(segment)) {
+				return this.wildcardChild;
+			}
+			else {
+				return (this.literalChildren != null ? this.literalChildren.get(segment) : null);
+			}
+		}
+
+		public Node<T> getOrCreateChild(String segment) {
+			Node<T> child = getChild(segment);
+			if (child == null) {
+				child = new Node<T>();
+				if (DOUBLE_WILDCARD.equals(segment)) {
+					this.doubleWildcardChild = child;
+				}
+				else if (isWildcardSegment(segment)) {
+					this.wildcardChild = child;
+				}
+				else {
+					if (this.literalChildren == null) {
+						this.literalChildren = new HashMap<String, Node<T>>(4);
+					}
+					this.literalChildren.put(segment, child);
+				}
+			}
+			return child;
+		}
+	}
+
+}
@@ -56,7 +56,7 @@ public abstract class AbstractUrlViewController extends AbstractController {
 	//核心处理请求方法
 	@Override
 	protected ModelAndView handleRequestInternal(HttpServletRequest request, HttpServletResponse response) {
-		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
+		String lookupPath = getUrlPathHelper().getRequestPath(request).getLookupPath();
 		String viewName = getViewNameForRequest(request);
 		if (logger.isDebugEnabled()) {
 			logger.debug("Returning view name '" + viewName + "' for lookup path [" + lookupPath + "]");
@@ -51,7 +51,7 @@ public class UrlFilenameViewController extends AbstractUrlViewController {
 	protected String extractOperableUrl(HttpServletRequest request) {
 		String urlPath = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
 		if (!StringUtils.hasText(urlPath)) {
-			urlPath = getUrlPathHelper().getLookupPathForRequest(request);
+			urlPath = getUrlPathHelper().getRequestPath(request).getLookupPath();
 		}
 		return urlPath;
 	}
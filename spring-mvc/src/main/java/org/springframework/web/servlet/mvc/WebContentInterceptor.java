@@ -79,7 +79,7 @@ public class WebContentInterceptor extends WebContentGenerator implements Handle
 
         checkRequest(request);
 
-        String lookupPath = this.urlPathHelper.getLookupPathForRequest(request);
+        String lookupPath = this.urlPathHelper.getRequestPath(request).getLookupPath();
         if (logger.isDebugEnabled()) {
             logger.debug("Looking up cache seconds for [" + lookupPath + "]");
         }
@@ -514,7 +514,7 @@ public class AnnotationMethodHandlerAdapter extends WebContentGenerator implemen
 		}
 
 		public Method resolveHandlerMethod(HttpServletRequest request) throws ServletException {
-			String lookupPath = urlPathHelper.getLookupPathForRequest(request);
+			String lookupPath = urlPathHelper.getRequestPath(request).getLookupPath();
 			Comparator<String> pathComparator = pathMatcher.getPatternComparator(lookupPath);
 			Map<RequestSpecificMappingInfo, Method> targetHandlerMethods = new LinkedHashMap<RequestSpecificMappingInfo, Method>();
 			Set<String> allowedMethods = new LinkedHashSet<String>(7);
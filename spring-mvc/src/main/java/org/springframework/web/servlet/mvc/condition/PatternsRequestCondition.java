@@ -5,14 +5,18 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import javax.servlet.http.HttpServletRequest;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.PathMatcher;
+import org.springframework.util.PathPattern;
 import org.springframework.util.StringUtils;
+import org.springframework.web.util.RequestPath;
 import org.springframework.web.util.UrlPathHelper;
 
 /**
@@ -36,6 +40,18 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 
     private final List<String> fileExtensions = new ArrayList<String>();
 
+    /**
+     * Pre-compiled patterns, aligned with the iteration order of {@link #patterns},
+     * or {@code null} if the PathMatcher is not a plain AntPathMatcher.
+     */
+    private final CompiledPattern[] compiledPatterns;
+
+    /**
+     * All compiled patterns and their suffix and trailing slash variants by
+     * pattern String, shared with the conditions derived from this one.
+     */
+    private final Map<String, PathPattern> pathPatterns;
+
     //构造器1
     public PatternsRequestCondition(String... patterns) {
         this(asList(patterns), null, null, true, true, null);
@@ -59,6 +75,16 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
     private PatternsRequestCondition(Collection<String> patterns, UrlPathHelper urlPathHelper,
                                      PathMatcher pathMatcher, boolean useSuffixPatternMatch, boolean useTrailingSlashMatch,
                                      List<String> fileExtensions) {
+        this(patterns, urlPathHelper, pathMatcher, useSuffixPatternMatch, useTrailingSlashMatch, fileExtensions, null);
+    }
+
+    /**
+     * Private constructor for conditions derived from an existing one, reusing
+     * the patterns compiled for it (if any) rather than compiling again.
+     */
+    private PatternsRequestCondition(Collection<String> patterns, UrlPathHelper urlPathHelper,
+                                     PathMatcher pathMatcher, boolean useSuffixPatternMatch, boolean useTrailingSlashMatch,
+                                     List<String> fileExtensions, Map<String, PathPattern> pathPatterns) {
         this.patterns = Collections.unmodifiableSet(prependLeadingSlash(patterns));
         this.pathHelper = (urlPathHelper != null ? urlPathHelper : new UrlPathHelper());
         this.pathMatcher = (pathMatcher != null ? pathMatcher : new AntPathMatcher());
@@ -72,6 +98,51 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
                 this.fileExtensions.add(fileExtension);
             }
         }
+        if (pathPatterns != null) {
+            this.compiledPatterns = null;
+            this.pathPatterns = pathPatterns;
+        }
+        else if (this.pathMatcher.getClass() == AntPathMatcher.class) {
+            this.pathPatterns = new HashMap<String, PathPattern>();
+            this.compiledPatterns = new CompiledPattern[this.patterns.size()];
+            int i = 0;
+            for (String pattern : this.patterns) {
+                this.compiledPatterns[i++] = compilePattern(pattern);
+            }
+        }
+        else {
+            this.compiledPatterns = null;
+            this.pathPatterns = null;
+        }
+    }
+
+    private CompiledPattern compilePattern(String pattern) {
+        PathPattern pathPattern = compileVariant(pattern);
+        PathPattern suffixPattern = null;
+        PathPattern[] extensionPatterns = new PathPattern[0];
+        PathPattern trailingSlashPattern = null;
+        if (this.useSuffixPatternMatch) {
+            if (pattern.indexOf('.') == -1) {
+                suffixPattern = compileVariant(pattern + ".*");
+            }
+            extensionPatterns = new PathPattern[this.fileExtensions.size()];
+            for (int i = 0; i < extensionPatterns.length; i++) {
+                extensionPatterns[i] = compileVariant(pattern + this.fileExtensions.get(i));
+            }
+        }
+        if (this.useTrailingSlashMatch && !pattern.endsWith("/")) {
+            trailingSlashPattern = compileVariant(pattern + "/");
+        }
+        return new CompiledPattern(pattern, pathPattern, suffixPattern, extensionPatterns, trailingSlashPattern);
+    }
+
+    private PathPattern compileVariant(String pattern) {
+        PathPattern pathPattern = this.pathPatterns.get(pattern);
+        if (pathPattern == null) {
+            pathPattern = ((AntPathMatcher) this.pathMatcher).compile(pattern);
+            this.pathPatterns.put(pattern, pathPattern);
+        }
+        return pathPattern;
     }
 
     private static List<String> asList(String... patterns) {
@@ -151,12 +222,13 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
             return this;
         }
 
-        String lookupPath = this.pathHelper.getLookupPathForRequest(request);
-        List<String> matches = getMatchingPatterns(lookupPath);
+        RequestPath requestPath = this.pathHelper.getRequestPath(request);
+        List<String> matches = (this.compiledPatterns != null ? getCompiledMatchingPatterns(requestPath) :
+                getMatchingPatterns(requestPath.getLookupPath()));
 
         return matches.isEmpty() ? null :
                 new PatternsRequestCondition(matches, this.pathHelper, this.pathMatcher, this.useSuffixPatternMatch,
-                        this.useTrailingSlashMatch, this.fileExtensions);
+                        this.useTrailingSlashMatch, this.fileExtensions, this.pathPatterns);
     }
 
     /**
@@ -170,6 +242,9 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
      * @return a collection of matching patterns sorted with the closest match at the top
      */
     public List<String> getMatchingPatterns(String lookupPath) {
+        if (this.compiledPatterns != null) {
+            return getCompiledMatchingPatterns(new RequestPath(lookupPath));
+        }
         List<String> matches = new ArrayList<String>();
         for (String pattern : this.patterns) {
             String match = getMatchingPattern(pattern, lookupPath);
@@ -210,15 +285,85 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
         return null;
     }
 
+    /**
+     * Variant of {@link #getMatchingPatterns(String)} that matches the lookup
+     * path, split once per request, against the pre-compiled patterns.
+     */
+    private List<String> getCompiledMatchingPatterns(RequestPath requestPath) {
+        String lookupPath = requestPath.getLookupPath();
+        PathPattern.ParsedPath path = requestPath.getParsedPath((AntPathMatcher) this.pathMatcher);
+        List<PathPattern> matches = new ArrayList<PathPattern>();
+        for (CompiledPattern compiledPattern : this.compiledPatterns) {
+            PathPattern match = getMatchingPattern(compiledPattern, path);
+            if (match != null) {
+                matches.add(match);
+            }
+        }
+        if (matches.size() > 1) {
+            Collections.sort(matches, PathPattern.getSpecificityComparator(lookupPath));
+        }
+        List<String> result = new ArrayList<String>(matches.size());
+        for (PathPattern match : matches) {
+            result.add(match.getPatternString());
+        }
+        return result;
+    }
+
+    private PathPattern getMatchingPattern(CompiledPattern compiledPattern, PathPattern.ParsedPath path) {
+        String lookupPath = path.getPath();
+        if (compiledPattern.pattern.equals(lookupPath)) {
+            return compiledPattern.pathPattern;
+        }
+        if (this.useSuffixPatternMatch) {
+            if (!this.fileExtensions.isEmpty() && lookupPath.indexOf('.') != -1) {
+                for (PathPattern extensionPattern : compiledPattern.extensionPatterns) {
+                    if (extensionPattern.matches(path)) {
+                        return extensionPattern;
+                    }
+                }
+            } else {
+                if (compiledPattern.suffixPattern != null && compiledPattern.suffixPattern.matches(path)) {
+                    return compiledPattern.suffixPattern;
+                }
+            }
+        }
+        if (compiledPattern.pathPattern.matches(path)) {
+            return compiledPattern.pathPattern;
+        }
+        if (this.useTrailingSlashMatch) {
+            if (compiledPattern.trailingSlashPattern != null && compiledPattern.trailingSlashPattern.matches(path)) {
+                return compiledPattern.trailingSlashPattern;
+            }
+        }
+        return null;
+    }
+
     
     @Override
     public int compareTo(PatternsRequestCondition other, HttpServletRequest request) {
-        String lookupPath = this.pathHelper.getLookupPathForRequest(request);
-        Comparator<String> patternComparator = this.pathMatcher.getPatternComparator(lookupPath);
+        String lookupPath = this.pathHelper.getRequestPath(request).getLookupPath();
+        Comparator<PathPattern> specificityComparator = null;
+        Comparator<String> patternComparator = null;
         Iterator<String> iterator = this.patterns.iterator();
         Iterator<String> iteratorOther = other.patterns.iterator();
         while (iterator.hasNext() && iteratorOther.hasNext()) {
-            int result = patternComparator.compare(iterator.next(), iteratorOther.next());
+            String pattern = iterator.next();
+            String otherPattern = iteratorOther.next();
+            PathPattern pathPattern = (this.pathPatterns != null ? this.pathPatterns.get(pattern) : null);
+            PathPattern otherPathPattern = (other.pathPatterns != null ? other.pathPatterns.get(otherPattern) : null);
+            int result;
+            if (pathPattern != null && otherPathPattern != null) {
+                if (specificityComparator == null) {
+                    specificityComparator = PathPattern.getSpecificityComparator(lookupPath);
+                }
+                result = specificityComparator.compare(pathPattern, otherPathPattern);
+            } else {
+                // Not compiled, e.g. with a custom PathMatcher
+                if (patternComparator == null) {
+                    patternComparator = this.pathMatcher.getPatternComparator(lookupPath);
+                }
+                result = patternComparator.compare(pattern, otherPattern);
+            }
             if (result != 0) {
                 return result;
             }
@@ -232,4 +377,30 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
         }
     }
 
+
+    /**
+     * A pattern compiled along with the variants it is matched through.
+     */
+    private static final class CompiledPattern {
+
+        private final String pattern;
+
+        private final PathPattern pathPattern;
+
+        private final PathPattern suffixPattern;
+
+        private final PathPattern[] extensionPatterns;
+
+        private final PathPattern trailingSlashPattern;
+
+        public CompiledPattern(String pattern, PathPattern pathPattern, PathPattern suffixPattern,
+                               PathPattern[] extensionPatterns, PathPattern trailingSlashPattern) {
+            this.pattern = pattern;
+            this.pathPattern = pathPattern;
+            this.suffixPattern = suffixPattern;
+            this.extensionPatterns = extensionPatterns;
+            this.trailingSlashPattern = trailingSlashPattern;
+        }
+    }
+
 }
@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 
@@ -25,6 +26,7 @@ import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.UnsatisfiedServletRequestParameterException;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.handler.AbstractHandlerMethodMapping;
@@ -51,11 +53,102 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
         }
     }
 
+    private static final String LOOKUP_RECORDER_ATTRIBUTE =
+            RequestMappingInfoHandlerMapping.class.getName() + ".lookupRecorder";
+
+
+    private int lookupCacheLimit = 0;
+
+    private volatile RequestMappingInfoLookupCache lookupCache;
+
+    private final AtomicLong lookupCacheHits = new AtomicLong();
+
+    private final AtomicLong lookupCacheMisses = new AtomicLong();
+
+
     protected RequestMappingInfoHandlerMapping() {
         setHandlerMethodMappingNamingStrategy(new RequestMappingInfoHandlerMethodMappingNamingStrategy());
     }
 
 
+    /**
+     * Specify the maximum number of lookup results to cache, keyed by HTTP method,
+     * lookup path, "Content-Type" and "Accept" header of the request. A cached
+     * result is reused without matching and sorting mappings again, and is
+     * discarded whenever mappings are registered or unregistered.
+     * <p>Results are only cached if none of the mappings considered for the
+     * request has "params", "headers" or custom conditions, which depend on
+     * other request data. Likewise, requested media types must be determined
+     * by the "Accept" header or the path extension only. CORS pre-flight
+     * requests are never cached. Note that {@link #handleMatch} is not invoked
+     * for cached results; the matching request attributes are exposed directly.
+     * <p>The default value is 0, i.e. lookup results are not cached.
+     * @since 4.3.13
+     */
+    public void setLookupCacheLimit(int lookupCacheLimit) {
+        this.lookupCacheLimit = lookupCacheLimit;
+        invalidateLookupCache();
+    }
+
+    /**
+     * Return the maximum number of lookup results to cache.
+     * @since 4.3.13
+     */
+    public int getLookupCacheLimit() {
+        return this.lookupCacheLimit;
+    }
+
+    /**
+     * Return the number of lookups served from the lookup cache.
+     * @since 4.3.13
+     * @see #setLookupCacheLimit
+     */
+    public long getLookupCacheHitCount() {
+        return this.lookupCacheHits.get();
+    }
+
+    /**
+     * Return the number of lookups not found in the lookup cache.
+     * @since 4.3.13
+     * @see #setLookupCacheLimit
+     */
+    public long getLookupCacheMissCount() {
+        return this.lookupCacheMisses.get();
+    }
+
+    /**
+     * Return the number of lookup results currently cached.
+     * @since 4.3.13
+     * @see #setLookupCacheLimit
+     */
+    public int getLookupCacheSize() {
+        RequestMappingInfoLookupCache cache = this.lookupCache;
+        return (cache != null ? cache.size() : 0);
+    }
+
+    private void invalidateLookupCache() {
+        this.lookupCache = (this.lookupCacheLimit > 0 ? new RequestMappingInfoLookupCache(this.lookupCacheLimit) : null);
+    }
+
+    @Override
+    public void registerMapping(RequestMappingInfo mapping, Object handler, Method method) {
+        super.registerMapping(mapping, handler, method);
+        invalidateLookupCache();
+    }
+
+    @Override
+    public void unregisterMapping(RequestMappingInfo mapping) {
+        super.unregisterMapping(mapping);
+        invalidateLookupCache();
+    }
+
+    @Override
+    protected void registerHandlerMethod(Object handler, Method method, RequestMappingInfo mapping) {
+        super.registerHandlerMethod(handler, method, mapping);
+        invalidateLookupCache();
+    }
+
+
     /**
      * Get the URL path patterns associated with this {@link RequestMappingInfo}.
      */
@@ -73,9 +166,24 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
      */
     @Override
     protected RequestMappingInfo getMatchingMapping(RequestMappingInfo info, HttpServletRequest request) {
+        if (this.lookupCache != null && !isLookupCacheable(info)) {
+            LookupRecorder recorder = (LookupRecorder) request.getAttribute(LOOKUP_RECORDER_ATTRIBUTE);
+            if (recorder != null) {
+                recorder.cacheable = false;
+            }
+        }
         return info.getMatchingCondition(request);
     }
 
+    /**
+     * Whether the match of the given mapping depends on nothing but the
+     * request data the lookup cache is keyed by.
+     */
+    private boolean isLookupCacheable(RequestMappingInfo info) {
+        return (info.getParamsCondition().isEmpty() && info.getHeadersCondition().isEmpty() &&
+                info.getCustomCondition() == null);
+    }
+
     /**
      * Provide a Comparator to sort RequestMappingInfos matched to a request.
      */
@@ -89,6 +197,43 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
         };
     }
 
+    /**
+     * Serve the lookup from the lookup cache, if enabled, or otherwise perform
+     * it and cache the result if it only depends on the cache key.
+     * @see #setLookupCacheLimit
+     */
+    @Override
+    protected HandlerMethod lookupHandlerMethod(String lookupPath, HttpServletRequest request) throws Exception {
+        RequestMappingInfoLookupCache cache = this.lookupCache;
+        if (cache == null || CorsUtils.isPreFlightRequest(request)) {
+            return super.lookupHandlerMethod(lookupPath, request);
+        }
+
+        RequestMappingInfoLookupCache.Key key = new RequestMappingInfoLookupCache.Key(request, lookupPath);
+        RequestMappingInfoLookupCache.Entry entry = cache.get(key);
+        if (entry != null) {
+            this.lookupCacheHits.incrementAndGet();
+            request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, lookupPath);
+            exposeMatch(entry.getInfo(), entry.getBestPattern(),
+                    new LinkedHashMap<String, String>(entry.getUriVariables()), request);
+            return entry.getHandlerMethod();
+        }
+
+        this.lookupCacheMisses.incrementAndGet();
+        LookupRecorder recorder = new LookupRecorder();
+        request.setAttribute(LOOKUP_RECORDER_ATTRIBUTE, recorder);
+        try {
+            HandlerMethod handlerMethod = super.lookupHandlerMethod(lookupPath, request);
+            if (handlerMethod != null && recorder.cacheable && recorder.info != null) {
+                cache.put(key, new RequestMappingInfoLookupCache.Entry(
+                        recorder.info, handlerMethod, recorder.bestPattern, recorder.uriVariables));
+            }
+            return handlerMethod;
+        } finally {
+            request.removeAttribute(LOOKUP_RECORDER_ATTRIBUTE);
+        }
+    }
+
     /**
      * Expose URI template variables, matrix variables, and producible media types in the request.
      *
@@ -102,19 +247,32 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 
         String bestPattern;
         Map<String, String> uriVariables;
-        Map<String, String> decodedUriVariables;
 
         Set<String> patterns = info.getPatternsCondition().getPatterns();
         if (patterns.isEmpty()) {
             bestPattern = lookupPath;
             uriVariables = Collections.emptyMap();
-            decodedUriVariables = Collections.emptyMap();
         } else {
             bestPattern = patterns.iterator().next();
             uriVariables = getPathMatcher().extractUriTemplateVariables(bestPattern, lookupPath);
-            decodedUriVariables = getUrlPathHelper().decodePathVariables(request, uriVariables);
         }
 
+        LookupRecorder recorder = (LookupRecorder) request.getAttribute(LOOKUP_RECORDER_ATTRIBUTE);
+        if (recorder != null) {
+            recorder.info = info;
+            recorder.bestPattern = bestPattern;
+            recorder.uriVariables = new LinkedHashMap<String, String>(uriVariables);
+        }
+
+        exposeMatch(info, bestPattern, uriVariables, request);
+    }
+
+    private void exposeMatch(RequestMappingInfo info, String bestPattern, Map<String, String> uriVariables,
+                             HttpServletRequest request) {
+
+        Map<String, String> decodedUriVariables = (uriVariables.isEmpty() ? uriVariables :
+                getUrlPathHelper().decodePathVariables(request, uriVariables));
+
         request.setAttribute(BEST_MATCHING_PATTERN_ATTRIBUTE, bestPattern);
         request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, decodedUriVariables);
 
@@ -405,6 +563,21 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
     }
 
 
+    /**
+     * Collects the outcome of a lookup that is a candidate for the lookup cache.
+     */
+    private static class LookupRecorder {
+
+        private boolean cacheable = true;
+
+        private RequestMappingInfo info;
+
+        private String bestPattern;
+
+        private Map<String, String> uriVariables;
+    }
+
+
     /**
      * Default handler for HTTP OPTIONS.
      */
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.mvc.method;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.ObjectUtils;
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ * A bounded cache of handler method lookup results, keyed by the "shape" of
+ * a request: HTTP method, lookup path, "Content-Type" and "Accept" headers.
+ *
+ * <p>Entries are held in an access-ordered {@link LinkedHashMap}, guarded by a
+ * lock that is only ever held for a constant-time map operation. Once the limit
+ * is exceeded, the least recently used entry is evicted.
+ *
+ * <p>A cache instance is never cleared: {@link RequestMappingInfoHandlerMapping}
+ * replaces it whenever mappings change, so that lookups still in progress
+ * against the previous mappings cannot populate the new cache.
+ *
+ * @since 4.3.13
+ * @see RequestMappingInfoHandlerMapping#setLookupCacheLimit
+ */
+class RequestMappingInfoLookupCache {
+
+	private final Map<Key, Entry> entries;
+
+
+	@SuppressWarnings("serial")
+	public RequestMappingInfoLookupCache(final int limit) {
+		this.entries = new LinkedHashMap<Key, Entry>(Math.min(limit, 256), 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return (size() > limit);
+			}
+		};
+	}
+
+
+	public Entry get(Key key) {
+		synchronized (this.entries) {
+			return this.entries.get(key);
+		}
+	}
+
+	public void put(Key key, Entry entry) {
+		synchronized (this.entries) {
+			this.entries.put(key, entry);
+		}
+	}
+
+	public int size() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+
+
+	/**
+	 * The request "shape" a lookup result applies to.
+	 */
+	static final class Key {
+
+		private final String method;
+
+		private final String lookupPath;
+
+		private final String contentType;
+
+		private final String accept;
+
+		private final int hashCode;
+
+		public Key(HttpServletRequest request, String lookupPath) {
+			this.method = request.getMethod();
+			this.lookupPath = lookupPath;
+			this.contentType = request.getContentType();
+			this.accept = getAcceptHeader(request);
+			int hashCode = ObjectUtils.nullSafeHashCode(this.method);
+			hashCode = 31 * hashCode + this.lookupPath.hashCode();
+			hashCode = 31 * hashCode + ObjectUtils.nullSafeHashCode(this.contentType);
+			hashCode = 31 * hashCode + ObjectUtils.nullSafeHashCode(this.accept);
+			this.hashCode = hashCode;
+		}
+
+		/**
+		 * Return all "Accept" header values joined with commas, since content
+		 * negotiation considers every header and not just the first one.
+		 */
+		private static String getAcceptHeader(HttpServletRequest request) {
+			Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT);
+			if (headers == null || !headers.hasMoreElements()) {
+				return null;
+			}
+			String accept = headers.nextElement();
+			if (!headers.hasMoreElements()) {
+				return accept;
+			}
+			StringBuilder sb = new StringBuilder(accept);
+			while (headers.hasMoreElements()) {
+				sb.append(", ").append(headers.nextElement());
+			}
+			return sb.toString();
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof Key)) {
+				return false;
+			}
+			Key otherKey = (Key) other;
+			return (this.hashCode == otherKey.hashCode && this.lookupPath.equals(otherKey.lookupPath) &&
+					ObjectUtils.nullSafeEquals(this.method, otherKey.method) &&
+					ObjectUtils.nullSafeEquals(this.contentType, otherKey.contentType) &&
+					ObjectUtils.nullSafeEquals(this.accept, otherKey.accept));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public String toString() {
+			return this.method + " " + this.lookupPath + " [Content-Type=" + this.contentType +
+					", Accept=" + this.accept + "]";
+		}
+	}
+
+
+	/**
+	 * The outcome of a successful lookup: the best matching mapping and handler
+	 * method, plus the best matching pattern and the raw (not yet decoded)
+	 * URI template variables extracted from the lookup path.
+	 */
+	static final class Entry {
+
+		private final RequestMappingInfo info;
+
+		private final HandlerMethod handlerMethod;
+
+		private final String bestPattern;
+
+		private final Map<String, String> uriVariables;
+
+		public Entry(RequestMappingInfo info, HandlerMethod handlerMethod, String bestPattern,
+				Map<String, String> uriVariables) {
+
+			this.info = info;
+			this.handlerMethod = handlerMethod;
+			this.bestPattern = bestPattern;
+			this.uriVariables = Collections.unmodifiableMap(uriVariables);
+		}
+
+		public RequestMappingInfo getInfo() {
+			return this.info;
+		}
+
+		public HandlerMethod getHandlerMethod() {
+			return this.handlerMethod;
+		}
+
+		public String getBestPattern() {
+			return this.bestPattern;
+		}
+
+		public Map<String, String> getUriVariables() {
+			return this.uriVariables;
+		}
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.web.servlet.mvc.method.annotation;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -41,6 +42,9 @@ import org.springframework.http.converter.HttpMessageNotWritableException;
 import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.accept.ContentNegotiationManager;
@@ -55,6 +59,11 @@ import org.springframework.web.util.UrlPathHelper;
  * Extends {@link AbstractMessageConverterMethodArgumentResolver} with the ability to handle
  * method return values by writing to the response with {@link HttpMessageConverter}s.
  *
+ * <p>As of 4.3.13, the selected converter and content type are cached per
+ * return value class, declared return type, requested media types and
+ * producible media types of the request mapping, unless
+ * {@link #getProducibleMediaTypes(HttpServletRequest, Class, Type)} is overridden.
+ *
  * @author Arjen Poutsma
  * @author Rossen Stoyanchev
  * @since 3.1
@@ -89,6 +98,9 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 
 	private final Set<String> safeExtensions = new HashSet<String>();
 
+	/** Cached converter selections, or {@code null} if selections are not cacheable */
+	private final ConcurrentLruCache<SelectionKey, ConverterSelection> selectionCache;
+
 
 	/**
 	 * Constructor with list of converters only.
@@ -118,6 +130,18 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 		this.pathStrategy = initPathStrategy(this.contentNegotiationManager);
 		this.safeExtensions.addAll(this.contentNegotiationManager.getAllFileExtensions());
 		this.safeExtensions.addAll(WHITELISTED_EXTENSIONS);
+		this.selectionCache = (isSelectionCacheable() ?
+				new ConcurrentLruCache<SelectionKey, ConverterSelection>(128) : null);
+	}
+
+	/**
+	 * Converter selections can only be cached if the producible media types
+	 * are determined by this class, i.e. do not depend on the request otherwise.
+	 */
+	private boolean isSelectionCacheable() {
+		Method method = ReflectionUtils.findMethod(getClass(), "getProducibleMediaTypes",
+				HttpServletRequest.class, Class.class, Type.class);
+		return (method != null && method.getDeclaringClass() == AbstractMessageConverterMethodProcessor.class);
 	}
 
 	private static PathExtensionContentNegotiationStrategy initPathStrategy(ContentNegotiationManager manager) {
@@ -181,11 +205,67 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 
 		HttpServletRequest request = inputMessage.getServletRequest();
 		List<MediaType> requestedMediaTypes = getAcceptableMediaTypes(request);
-		List<MediaType> producibleMediaTypes = getProducibleMediaTypes(request, valueType, declaredType);
+		ConverterSelection selection;
+		if (this.selectionCache != null) {
+			SelectionKey key = new SelectionKey(valueType, declaredType, requestedMediaTypes,
+					request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE));
+			selection = this.selectionCache.get(key);
+			if (selection == null) {
+				selection = selectConverter(request, valueType, declaredType, requestedMediaTypes);
+				this.selectionCache.put(key, selection);
+			}
+		}
+		else {
+			selection = selectConverter(request, valueType, declaredType, requestedMediaTypes);
+		}
 
-		if (outputValue != null && producibleMediaTypes.isEmpty()) {
+		if (outputValue != null && selection.producibleMediaTypes.isEmpty()) {
 			throw new IllegalArgumentException("No converter found for return value of type: " + valueType);
 		}
+		if (!selection.compatible) {
+			if (outputValue != null) {
+				throw new HttpMediaTypeNotAcceptableException(selection.producibleMediaTypes);
+			}
+			return;
+		}
+
+		HttpMessageConverter<?> messageConverter = selection.messageConverter;
+		if (messageConverter != null) {
+			MediaType selectedMediaType = selection.selectedMediaType;
+			outputValue = (T) getAdvice().beforeBodyWrite(outputValue, returnType, selectedMediaType,
+					(Class<? extends HttpMessageConverter<?>>) messageConverter.getClass(),
+					inputMessage, outputMessage);
+			if (outputValue != null) {
+				addContentDispositionHeader(inputMessage, outputMessage);
+				if (messageConverter instanceof GenericHttpMessageConverter) {
+					((GenericHttpMessageConverter) messageConverter).write(
+							outputValue, declaredType, selectedMediaType, outputMessage);
+				}
+				else {
+					((HttpMessageConverter) messageConverter).write(outputValue, selectedMediaType, outputMessage);
+				}
+				if (logger.isDebugEnabled()) {
+					logger.debug("Written [" + outputValue + "] as \"" + selectedMediaType +
+							"\" using [" + messageConverter + "]");
+				}
+			}
+			return;
+		}
+
+		if (outputValue != null) {
+			throw new HttpMediaTypeNotAcceptableException(this.allSupportedMediaTypes);
+		}
+	}
+
+	/**
+	 * Select the content type and the converter to write a value of the given
+	 * type with, based on the requested and the producible media types.
+	 */
+	@SuppressWarnings("unchecked")
+	private ConverterSelection selectConverter(HttpServletRequest request, Class<?> valueType,
+			Type declaredType, List<MediaType> requestedMediaTypes) {
+
+		List<MediaType> producibleMediaTypes = getProducibleMediaTypes(request, valueType, declaredType);
 
 		Set<MediaType> compatibleMediaTypes = new LinkedHashSet<MediaType>();
 		for (MediaType requestedType : requestedMediaTypes) {
@@ -196,10 +276,7 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 			}
 		}
 		if (compatibleMediaTypes.isEmpty()) {
-			if (outputValue != null) {
-				throw new HttpMediaTypeNotAcceptableException(producibleMediaTypes);
-			}
-			return;
+			return new ConverterSelection(producibleMediaTypes, false, null, null);
 		}
 
 		List<MediaType> mediaTypes = new ArrayList<MediaType>(compatibleMediaTypes);
@@ -223,41 +300,15 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 				if (messageConverter instanceof GenericHttpMessageConverter) {
 					if (((GenericHttpMessageConverter) messageConverter).canWrite(
 							declaredType, valueType, selectedMediaType)) {
-						outputValue = (T) getAdvice().beforeBodyWrite(outputValue, returnType, selectedMediaType,
-								(Class<? extends HttpMessageConverter<?>>) messageConverter.getClass(),
-								inputMessage, outputMessage);
-						if (outputValue != null) {
-							addContentDispositionHeader(inputMessage, outputMessage);
-							((GenericHttpMessageConverter) messageConverter).write(
-									outputValue, declaredType, selectedMediaType, outputMessage);
-							if (logger.isDebugEnabled()) {
-								logger.debug("Written [" + outputValue + "] as \"" + selectedMediaType +
-										"\" using [" + messageConverter + "]");
-							}
-						}
-						return;
+						return new ConverterSelection(producibleMediaTypes, true, selectedMediaType, messageConverter);
 					}
 				}
 				else if (messageConverter.canWrite(valueType, selectedMediaType)) {
-					outputValue = (T) getAdvice().beforeBodyWrite(outputValue, returnType, selectedMediaType,
-							(Class<? extends HttpMessageConverter<?>>) messageConverter.getClass(),
-							inputMessage, outputMessage);
-					if (outputValue != null) {
-						addContentDispositionHeader(inputMessage, outputMessage);
-						((HttpMessageConverter) messageConverter).write(outputValue, selectedMediaType, outputMessage);
-						if (logger.isDebugEnabled()) {
-							logger.debug("Written [" + outputValue + "] as \"" + selectedMediaType +
-									"\" using [" + messageConverter + "]");
-						}
-					}
-					return;
+					return new ConverterSelection(producibleMediaTypes, true, selectedMediaType, messageConverter);
 				}
 			}
 		}
-
-		if (outputValue != null) {
-			throw new HttpMediaTypeNotAcceptableException(this.allSupportedMediaTypes);
-		}
+		return new ConverterSelection(producibleMediaTypes, true, null, null);
 	}
 
 	/**
@@ -434,4 +485,80 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 				mediaType.getSubtype().endsWith("+xml"));
 	}
 
+
+	/**
+	 * Key for a cached {@link ConverterSelection}.
+	 */
+	private static final class SelectionKey {
+
+		private final Class<?> valueType;
+
+		private final Type declaredType;
+
+		private final List<MediaType> requestedMediaTypes;
+
+		private final Object mappedMediaTypes;
+
+		private final int hashCode;
+
+		public SelectionKey(Class<?> valueType, Type declaredType, List<MediaType> requestedMediaTypes,
+				Object mappedMediaTypes) {
+
+			this.valueType = valueType;
+			this.declaredType = declaredType;
+			this.requestedMediaTypes = requestedMediaTypes;
+			this.mappedMediaTypes = mappedMediaTypes;
+			int hashCode = ObjectUtils.nullSafeHashCode(valueType);
+			hashCode = 29 * hashCode + ObjectUtils.nullSafeHashCode(declaredType);
+			hashCode = 29 * hashCode + requestedMediaTypes.hashCode();
+			hashCode = 29 * hashCode + ObjectUtils.nullSafeHashCode(mappedMediaTypes);
+			this.hashCode = hashCode;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof SelectionKey)) {
+				return false;
+			}
+			SelectionKey otherKey = (SelectionKey) other;
+			return (this.hashCode == otherKey.hashCode && this.valueType == otherKey.valueType &&
+					ObjectUtils.nullSafeEquals(this.declaredType, otherKey.declaredType) &&
+					this.requestedMediaTypes.equals(otherKey.requestedMediaTypes) &&
+					ObjectUtils.nullSafeEquals(this.mappedMediaTypes, otherKey.mappedMediaTypes));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+
+	/**
+	 * The outcome of selecting a converter for a type of return value.
+	 */
+	private static final class ConverterSelection {
+
+		private final List<MediaType> producibleMediaTypes;
+
+		/** Whether any requested media type is compatible with a producible one */
+		private final boolean compatible;
+
+		private final MediaType selectedMediaType;
+
+		private final HttpMessageConverter<?> messageConverter;
+
+		public ConverterSelection(List<MediaType> producibleMediaTypes, boolean compatible,
+				MediaType selectedMediaType, HttpMessageConverter<?> messageConverter) {
+
+			this.producibleMediaTypes = Collections.unmodifiableList(producibleMediaTypes);
+			this.compatible = compatible;
+			this.selectedMediaType = selectedMediaType;
+			this.messageConverter = messageConverter;
+		}
+	}
+
 }
@@ -0,0 +1,277 @@
+package org.springframework.web.servlet.mvc.method.annotation;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+
+import org.springframework.util.ByteBufferPool;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Servlet 3.1 {@link ReadListener} that reads a request body without
+ * blocking, using buffers from a {@link ByteBufferPool} for each read.
+ * The complete body is handed to a {@link DeferredResult} as a
+ * {@link BufferedRequestBody}, which in turn exposes it through a wrapped
+ * request once handler invocation resumes. A body that exceeds the maximum
+ * size is rejected with a {@link RequestBodySizeExceededException}.
+ *
+ * <p>Kept separate from {@link RequestMappingHandlerAdapter} so that
+ * Servlet 3.1 types are only loaded when available.
+ *
+ * @since 4.3.13
+ * @see RequestMappingHandlerAdapter#setAsyncRequestBody
+ */
+class AsyncRequestBodyReader implements ReadListener {
+
+    /** Maximum initial buffer size, regardless of the declared "Content-Length" */
+    private static final int MAX_INITIAL_BUFFER_SIZE = 8192;
+
+    private final ServletInputStream inputStream;
+
+    private final DeferredResult<Object> deferredResult;
+
+    private final ByteBufferPool bufferPool;
+
+    private final long maxBodySize;
+
+    private BodyOutputStream content;
+
+    private boolean sizeExceeded;
+
+
+    private AsyncRequestBodyReader(ServletInputStream inputStream, DeferredResult<Object> deferredResult,
+                                   ByteBufferPool bufferPool, long maxBodySize, int contentLength) {
+
+        this.inputStream = inputStream;
+        this.deferredResult = deferredResult;
+        this.bufferPool = bufferPool;
+        this.maxBodySize = maxBodySize;
+        // Grow with the bytes actually received rather than trusting the declared length
+        this.content = new BodyOutputStream(contentLength > 0 ? Math.min(contentLength, MAX_INITIAL_BUFFER_SIZE) : 1024);
+    }
+
+
+    /**
+     * Reject the given request up front if its "Content-Length" header
+     * declares a body larger than the given maximum size.
+     * @param request the current request
+     * @param maxBodySize the maximum body size in bytes, or -1 for no limit
+     * @throws RequestBodySizeExceededException if the declared length exceeds the limit
+     */
+    public static void checkContentLength(HttpServletRequest request, long maxBodySize)
+            throws RequestBodySizeExceededException {
+
+        if (maxBodySize >= 0 && request.getContentLengthLong() > maxBodySize) {
+            throw new RequestBodySizeExceededException(maxBodySize);
+        }
+    }
+
+    /**
+     * Start reading the body of the given request, which must be in async mode.
+     * @param request the current request
+     * @param deferredResult the result to set once the body has been read
+     * @param bufferPool the pool to obtain read buffers from
+     * @param maxBodySize the maximum body size in bytes, or -1 for no limit
+     * @throws IOException if the input stream cannot be obtained
+     */
+    public static void read(HttpServletRequest request, DeferredResult<Object> deferredResult,
+                            ByteBufferPool bufferPool, long maxBodySize) throws IOException {
+
+        ServletInputStream inputStream = request.getInputStream();
+        inputStream.setReadListener(new AsyncRequestBodyReader(
+                inputStream, deferredResult, bufferPool, maxBodySize, request.getContentLength()));
+    }
+
+
+    @Override
+    public void onDataAvailable() throws IOException {
+        if (this.sizeExceeded) {
+            return;
+        }
+        ByteBuffer buffer = this.bufferPool.acquire();
+        try {
+            byte[] bytes = (buffer.hasArray() ? buffer.array() : new byte[buffer.capacity()]);
+            int offset = (buffer.hasArray() ? buffer.arrayOffset() : 0);
+            int length = buffer.capacity();
+            while (this.inputStream.isReady() && !this.inputStream.isFinished()) {
+                int read = this.inputStream.read(bytes, offset, length);
+                if (read == -1) {
+                    break;
+                }
+                if (this.maxBodySize >= 0 && this.content.size() + (long) read > this.maxBodySize) {
+                    // Stop reading, leaving the rest of the body to the container
+                    this.sizeExceeded = true;
+                    this.content = null;
+                    this.deferredResult.setErrorResult(new RequestBodySizeExceededException(this.maxBodySize));
+                    return;
+                }
+                this.content.write(bytes, offset, read);
+            }
+        }
+        finally {
+            this.bufferPool.release(buffer);
+        }
+    }
+
+    @Override
+    public void onAllDataRead() {
+        if (!this.sizeExceeded) {
+            this.deferredResult.setResult(this.content.toRequestBody());
+        }
+    }
+
+    @Override
+    public void onError(Throwable ex) {
+        this.deferredResult.setErrorResult(ex);
+    }
+
+
+    /**
+     * ByteArrayOutputStream that hands its buffer on without copying it.
+     */
+    private static class BodyOutputStream extends ByteArrayOutputStream {
+
+        public BodyOutputStream(int size) {
+            super(size);
+        }
+
+        public BufferedRequestBody toRequestBody() {
+            return new BufferedRequestBody(this.buf, this.count);
+        }
+    }
+
+
+    /**
+     * The body read by an {@link AsyncRequestBodyReader}, set as the
+     * concurrent result of the request.
+     */
+    static class BufferedRequestBody {
+
+        private final byte[] content;
+
+        private final int length;
+
+        public BufferedRequestBody(byte[] content, int length) {
+            this.content = content;
+            this.length = length;
+        }
+
+        /**
+         * Wrap the given request, exposing the buffered body as its content.
+         */
+        public HttpServletRequest wrap(HttpServletRequest request) {
+            return new BufferedBodyRequestWrapper(request, this.content, this.length);
+        }
+
+        @Override
+        public String toString() {
+            return "BufferedRequestBody [" + this.length + " bytes]";
+        }
+    }
+
+
+    /**
+     * Request wrapper that returns a buffered body from
+     * {@link #getInputStream()} and {@link #getReader()}.
+     */
+    private static class BufferedBodyRequestWrapper extends HttpServletRequestWrapper {
+
+        private final byte[] content;
+
+        private final int length;
+
+        private ServletInputStream inputStream;
+
+        private BufferedReader reader;
+
+        public BufferedBodyRequestWrapper(HttpServletRequest request, byte[] content, int length) {
+            super(request);
+            this.content = content;
+            this.length = length;
+        }
+
+        @Override
+        public int getContentLength() {
+            return this.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return this.length;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            if (this.reader != null) {
+                throw new IllegalStateException("getReader() has already been called for this request");
+            }
+            if (this.inputStream == null) {
+                this.inputStream = new BufferedBodyInputStream(this.content, this.length);
+            }
+            return this.inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws UnsupportedEncodingException {
+            if (this.inputStream != null) {
+                throw new IllegalStateException("getInputStream() has already been called for this request");
+            }
+            if (this.reader == null) {
+                String encoding = getCharacterEncoding();
+                this.reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(this.content, 0, this.length),
+                        encoding != null ? encoding : WebUtils.DEFAULT_CHARACTER_ENCODING));
+            }
+            return this.reader;
+        }
+    }
+
+
+    private static class BufferedBodyInputStream extends ServletInputStream {
+
+        private final ByteArrayInputStream delegate;
+
+        public BufferedBodyInputStream(byte[] content, int length) {
+            this.delegate = new ByteArrayInputStream(content, 0, length);
+        }
+
+        @Override
+        public int read() {
+            return this.delegate.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return this.delegate.read(b, off, len);
+        }
+
+        @Override
+        public int available() {
+            return this.delegate.available();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return (this.delegate.available() == 0);
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException("Request body has already been read");
+        }
+    }
+
+}
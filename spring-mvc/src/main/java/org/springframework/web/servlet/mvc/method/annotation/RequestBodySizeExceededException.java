@@ -0,0 +1,38 @@
+package org.springframework.web.servlet.mvc.method.annotation;
+
+import javax.servlet.ServletException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a request body read without blocking exceeds the
+ * configured maximum size, either as declared by its "Content-Length" header
+ * or while being read. Results in a 413 response by default.
+ *
+ * @since 4.3.13
+ * @see RequestMappingHandlerAdapter#setMaxAsyncRequestBodySize
+ */
+@SuppressWarnings("serial")
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class RequestBodySizeExceededException extends ServletException {
+
+    private final long maxBodySize;
+
+    /**
+     * Create a new RequestBodySizeExceededException.
+     * @param maxBodySize the maximum body size in bytes
+     */
+    public RequestBodySizeExceededException(long maxBodySize) {
+        super("Request body exceeds the maximum size of " + maxBodySize + " bytes");
+        this.maxBodySize = maxBodySize;
+    }
+
+    /**
+     * Return the maximum body size in bytes.
+     */
+    public long getMaxBodySize() {
+        return this.maxBodySize;
+    }
+
+}
@@ -18,12 +18,15 @@ import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
 import org.springframework.core.MethodIntrospector;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
 import org.springframework.http.converter.ByteArrayHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
@@ -31,11 +34,14 @@ import org.springframework.http.converter.support.AllEncompassingFormHttpMessage
 import org.springframework.http.converter.xml.SourceHttpMessageConverter;
 import org.springframework.ui.ModelMap;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.ReflectionUtils.MethodFilter;
+import org.springframework.util.StripedByteBufferPool;
 import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.support.DefaultDataBinderFactory;
 import org.springframework.web.bind.support.DefaultSessionAttributeStore;
@@ -47,6 +53,7 @@ import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.context.request.async.AsyncWebRequest;
 import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
 import org.springframework.web.context.request.async.WebAsyncManager;
 import org.springframework.web.context.request.async.WebAsyncTask;
@@ -86,6 +93,17 @@ import org.springframework.web.util.WebUtils;
 public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
         implements BeanFactoryAware, InitializingBean {
 
+    /**
+     * Default maximum size of a request body read without blocking: 10 MB.
+     * @since 4.3.13
+     * @see #setMaxAsyncRequestBodySize
+     */
+    public static final long DEFAULT_MAX_ASYNC_REQUEST_BODY_SIZE = 10 * 1024 * 1024;
+
+    private static final boolean readListenerAvailable =
+            ClassUtils.isPresent("javax.servlet.ReadListener", RequestMappingHandlerAdapter.class.getClassLoader());
+
+
     private List<HandlerMethodArgumentResolver> customArgumentResolvers;
 
     private HandlerMethodArgumentResolverComposite argumentResolvers;
@@ -110,6 +128,12 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 
     private Long asyncRequestTimeout;
 
+    private boolean asyncRequestBody = false;
+
+    private boolean asyncResponseBodyIterator = false;
+
+    private long maxAsyncRequestBodySize = DEFAULT_MAX_ASYNC_REQUEST_BODY_SIZE;
+
     private CallableProcessingInterceptor[] callableInterceptors = new CallableProcessingInterceptor[0];
 
     private DeferredResultProcessingInterceptor[] deferredResultInterceptors = new DeferredResultProcessingInterceptor[0];
@@ -308,6 +332,66 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
         this.asyncRequestTimeout = timeout;
     }
 
+    /**
+     * Whether to read the body of requests for handler methods with a
+     * {@code @RequestBody} or {@code HttpEntity} argument without blocking,
+     * before invoking the handler method.
+     * <p>When enabled and running on Servlet 3.1, such requests are put into
+     * async mode while the body is read through a {@code ReadListener}, so that
+     * slow uploads do not hold on to a container thread. The handler method is
+     * invoked in an async dispatch once the body is complete. Form and
+     * multipart requests are always read on demand.
+     * <p>Default is "false". Note that the body is buffered in memory, up to
+     * the {@link #setMaxAsyncRequestBodySize maximum body size}.
+     *
+     * @since 4.3.13
+     */
+    public void setAsyncRequestBody(boolean asyncRequestBody) {
+        this.asyncRequestBody = asyncRequestBody;
+    }
+
+    /**
+     * Whether to write {@code @ResponseBody} return values of type {@code Iterator}
+     * or Java 8 {@code Stream} element by element on the async
+     * {@link #setTaskExecutor TaskExecutor}, rather than on the container thread.
+     * <p>Default is "false", writing such values through the regular
+     * {@code @ResponseBody} processing. Note that when enabled, the values are
+     * written outside of any thread-bound state of the request, e.g. transactions,
+     * an open Hibernate session, the {@code LocaleContextHolder} and the security
+     * context, so that lazily fetched elements must not depend on such state.
+     * Consider configuring a bounded TaskExecutor as well.
+     *
+     * @since 4.3.13
+     * @see ResponseBodyIteratorReturnValueHandler
+     */
+    public void setAsyncResponseBodyIterator(boolean asyncResponseBodyIterator) {
+        this.asyncResponseBodyIterator = asyncResponseBodyIterator;
+    }
+
+    /**
+     * Set the maximum size in bytes of a request body read without blocking.
+     * <p>A request whose "Content-Length" exceeds the limit is rejected before
+     * reading starts, and reading stops as soon as a body without declared
+     * length exceeds it; either way with a {@link RequestBodySizeExceededException},
+     * resulting in a 413 response by default.
+     * <p>Default is {@link #DEFAULT_MAX_ASYNC_REQUEST_BODY_SIZE}; -1 means no limit.
+     *
+     * @since 4.3.13
+     * @see #setAsyncRequestBody
+     */
+    public void setMaxAsyncRequestBodySize(long maxAsyncRequestBodySize) {
+        this.maxAsyncRequestBodySize = maxAsyncRequestBodySize;
+    }
+
+    /**
+     * Return the maximum size in bytes of a request body read without blocking.
+     *
+     * @since 4.3.13
+     */
+    public long getMaxAsyncRequestBodySize() {
+        return this.maxAsyncRequestBodySize;
+    }
+
     /**
      * Configure {@code CallableProcessingInterceptor}'s to register on async requests.
      *
@@ -544,6 +628,10 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
         handlers.add(new ViewMethodReturnValueHandler());
         handlers.add(new ResponseBodyEmitterReturnValueHandler(getMessageConverters()));
         handlers.add(new StreamingResponseBodyReturnValueHandler());
+        if (this.asyncResponseBodyIterator) {
+            handlers.add(new ResponseBodyIteratorReturnValueHandler(new RequestResponseBodyMethodProcessor(
+                    getMessageConverters(), this.contentNegotiationManager, this.requestResponseBodyAdvice)));
+        }
         handlers.add(new HttpEntityMethodProcessor(getMessageConverters(),
                 this.contentNegotiationManager, this.requestResponseBodyAdvice));
         handlers.add(new HttpHeadersReturnValueHandler());
@@ -627,6 +715,51 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
         return -1;
     }
 
+    //是否需要非阻塞地读取请求体: 处理器方法带有请求体参数, 且请求带有非表单的请求体
+    private boolean isAsyncRequestBodyCandidate(HttpServletRequest request, HandlerMethod handlerMethod) {
+        if (!request.isAsyncSupported() ||
+                (request.getContentLength() <= 0 && request.getHeader("Transfer-Encoding") == null)) {
+            return false;
+        }
+        String contentType = request.getContentType();
+        if (contentType != null) {
+            try {
+                MediaType mediaType = MediaType.parseMediaType(contentType);
+                if (MediaType.APPLICATION_FORM_URLENCODED.includes(mediaType) ||
+                        MediaType.MULTIPART_FORM_DATA.includes(mediaType)) {
+                    return false;
+                }
+            } catch (IllegalArgumentException ex) {
+                // Invalid content type - leave it to the argument resolvers to reject
+                return false;
+            }
+        }
+        for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+            if (parameter.hasParameterAnnotation(RequestBody.class) ||
+                    HttpEntity.class.isAssignableFrom(parameter.getParameterType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //开始异步处理并通过ReadListener读取请求体
+    private void startAsyncRequestBodyReading(HttpServletRequest request, HttpServletResponse response,
+                                              WebAsyncManager asyncManager) throws Exception {
+
+        AsyncWebRequest asyncWebRequest = WebAsyncUtils.createAsyncWebRequest(request, response);
+        asyncWebRequest.setTimeout(this.asyncRequestTimeout);
+        asyncManager.setTaskExecutor(this.taskExecutor);
+        asyncManager.setAsyncWebRequest(asyncWebRequest);
+        asyncManager.registerDeferredResultInterceptors(this.deferredResultInterceptors);
+
+        DeferredResult<Object> deferredResult = new DeferredResult<Object>();
+        // A model container as context, for error results to be handled like other async failures
+        asyncManager.startDeferredResultProcessing(deferredResult, new ModelAndViewContainer());
+        AsyncRequestBodyReader.read(request, deferredResult, StripedByteBufferPool.getSharedInstance(),
+                this.maxAsyncRequestBodySize);
+    }
+
     //获取Session属性处理器
     private SessionAttributesHandler getSessionAttributesHandler(HandlerMethod handlerMethod) {
         Class<?> handlerType = handlerMethod.getBeanType();
@@ -647,6 +780,22 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
     protected ModelAndView invokeHandlerMethod(HttpServletRequest request,
                                                HttpServletResponse response, HandlerMethod handlerMethod) throws Exception {
 
+        //非阻塞地读取请求体, 读取完成后在异步分派中调用处理器方法
+        if (this.asyncRequestBody && readListenerAvailable) {
+            WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+            if (asyncManager.hasConcurrentResult()) {
+                Object result = asyncManager.getConcurrentResult();
+                if (result instanceof AsyncRequestBodyReader.BufferedRequestBody) {
+                    asyncManager.clearConcurrentResult();
+                    request = ((AsyncRequestBodyReader.BufferedRequestBody) result).wrap(request);
+                }
+            } else if (isAsyncRequestBodyCandidate(request, handlerMethod)) {
+                AsyncRequestBodyReader.checkContentLength(request, this.maxAsyncRequestBodySize);
+                startAsyncRequestBodyReading(request, response, asyncManager);
+                return null;
+            }
+        }
+
         ServletWebRequest webRequest = new ServletWebRequest(request, response);
         try {
             //获取数据绑定工厂
@@ -29,6 +29,10 @@ import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringValueResolver;
 import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.accept.ContentNegotiationStrategy;
+import org.springframework.web.accept.FixedContentNegotiationStrategy;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
+import org.springframework.web.accept.PathExtensionContentNegotiationStrategy;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -124,9 +128,34 @@ public class RequestMappingHandlerMapping extends RequestMappingInfoHandlerMappi
 		this.config.setRegisteredSuffixPatternMatch(this.useRegisteredSuffixPatternMatch);
 		this.config.setContentNegotiationManager(getContentNegotiationManager());
 
+		if (getLookupCacheLimit() > 0 && !isLookupCacheCompatible(getContentNegotiationManager())) {
+			if (logger.isWarnEnabled()) {
+				logger.warn("Disabling lookup cache: requested media types may be determined from request " +
+						"data other than the \"Accept\" header and the path extension " +
+						getContentNegotiationManager().getStrategies());
+			}
+			setLookupCacheLimit(0);
+		}
+
 		super.afterPropertiesSet();
 	}
 
+	/**
+	 * Whether all content negotiation strategies only depend on request data
+	 * the lookup cache is keyed by.
+	 * @see #setLookupCacheLimit
+	 */
+	private boolean isLookupCacheCompatible(ContentNegotiationManager manager) {
+		for (ContentNegotiationStrategy strategy : manager.getStrategies()) {
+			if (!(strategy instanceof HeaderContentNegotiationStrategy ||
+					strategy instanceof PathExtensionContentNegotiationStrategy ||
+					strategy instanceof FixedContentNegotiationStrategy)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 
 	/**
 	 * Whether to use suffix pattern matching.
@@ -285,7 +314,7 @@ public class RequestMappingHandlerMapping extends RequestMappingInfoHandlerMappi
 			return null;
 		}
 		Set<String> patterns = matchingInfo.getPatternsCondition().getPatterns();
-		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
+		String lookupPath = getUrlPathHelper().getRequestPath(request).getLookupPath();
 		return new RequestMatchResult(patterns.iterator().next(), lookupPath, getPathMatcher());
 	}
 
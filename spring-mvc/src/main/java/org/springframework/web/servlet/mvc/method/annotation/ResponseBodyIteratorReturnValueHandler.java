@@ -0,0 +1,165 @@
+package org.springframework.web.servlet.mvc.method.annotation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+import javax.servlet.ServletRequest;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.UsesJava8;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Supports {@code @ResponseBody} return values of type {@link Iterator} and
+ * Java 8 {@code java.util.stream.Stream}, writing them on the async
+ * {@link org.springframework.core.task.AsyncTaskExecutor TaskExecutor} rather
+ * than on the Servlet container thread.
+ *
+ * <p>Elements are serialized one by one through the given
+ * {@link RequestResponseBodyMethodProcessor}, e.g. as a JSON array by
+ * {@link org.springframework.http.converter.json.MappingJackson2HttpMessageConverter},
+ * so that a large result, such as the rows of a database cursor, is written
+ * as a chunked response in constant memory. Writes block the executor thread
+ * while the Servlet output buffer is full. A {@code Stream}, as well as an
+ * {@code Iterator} that implements {@link Closeable}, is closed once written.
+ *
+ * <p>If the request does not support async processing, the value is written
+ * on the current thread.
+ *
+ * <p>Not registered by default: see
+ * {@link RequestMappingHandlerAdapter#setAsyncResponseBodyIterator}.
+ *
+ * @since 4.3.13
+ * @see StreamingResponseBodyReturnValueHandler
+ */
+public class ResponseBodyIteratorReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+    private static final Log logger = LogFactory.getLog(ResponseBodyIteratorReturnValueHandler.class);
+
+    private static Class<?> javaUtilStreamClass = null;
+
+    static {
+        try {
+            javaUtilStreamClass = ClassUtils.forName("java.util.stream.Stream",
+                    ResponseBodyIteratorReturnValueHandler.class.getClassLoader());
+        } catch (ClassNotFoundException ex) {
+            // Java 8 not available - Stream return values not supported then.
+        }
+    }
+
+
+    private final RequestResponseBodyMethodProcessor processor;
+
+
+    /**
+     * Create a new handler that writes elements through the given processor.
+     * @param processor the processor for {@code @ResponseBody} return values
+     */
+    public ResponseBodyIteratorReturnValueHandler(RequestResponseBodyMethodProcessor processor) {
+        Assert.notNull(processor, "RequestResponseBodyMethodProcessor is required");
+        this.processor = processor;
+    }
+
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        Class<?> type = returnType.getParameterType();
+        return ((Iterator.class.isAssignableFrom(type) ||
+                (javaUtilStreamClass != null && javaUtilStreamClass.isAssignableFrom(type))) &&
+                this.processor.supportsReturnType(returnType));
+    }
+
+    @Override
+    public void handleReturnValue(Object returnValue, MethodParameter returnType,
+                                  ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+
+        if (returnValue == null) {
+            mavContainer.setRequestHandled(true);
+            return;
+        }
+
+        ServletRequest request = webRequest.getNativeRequest(ServletRequest.class);
+        if (!request.isAsyncSupported()) {
+            writeElements(returnValue, returnType, mavContainer, webRequest);
+            return;
+        }
+
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        Callable<Void> callable = new ElementWritingTask(returnValue, returnType, mavContainer, webRequest);
+        WebAsyncUtils.getAsyncManager(webRequest).startCallableProcessing(callable, mavContainer);
+    }
+
+    private void writeElements(Object returnValue, MethodParameter returnType,
+                               ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+
+        boolean isStream = (javaUtilStreamClass != null && javaUtilStreamClass.isInstance(returnValue));
+        try {
+            Object elements = (isStream ? StreamAdapter.iterator(returnValue) : returnValue);
+            this.processor.handleReturnValue(elements, returnType, mavContainer, webRequest);
+        } finally {
+            if (isStream) {
+                StreamAdapter.close(returnValue);
+            } else if (returnValue instanceof Closeable) {
+                try {
+                    ((Closeable) returnValue).close();
+                } catch (IOException ex) {
+                    logger.debug("Could not close Iterator after writing", ex);
+                }
+            }
+        }
+    }
+
+
+    private class ElementWritingTask implements Callable<Void> {
+
+        private final Object returnValue;
+
+        private final MethodParameter returnType;
+
+        private final ModelAndViewContainer mavContainer;
+
+        private final NativeWebRequest webRequest;
+
+        public ElementWritingTask(Object returnValue, MethodParameter returnType,
+                                  ModelAndViewContainer mavContainer, NativeWebRequest webRequest) {
+            this.returnValue = returnValue;
+            this.returnType = returnType;
+            this.mavContainer = mavContainer;
+            this.webRequest = webRequest;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            writeElements(this.returnValue, this.returnType, this.mavContainer, this.webRequest);
+            return null;
+        }
+    }
+
+
+    /**
+     * Inner class to avoid a hard dependency on Java 8.
+     */
+    @UsesJava8
+    private static class StreamAdapter {
+
+        public static Iterator<?> iterator(Object stream) {
+            return ((Stream<?>) stream).iterator();
+        }
+
+        public static void close(Object stream) {
+            ((Stream<?>) stream).close();
+        }
+    }
+
+}
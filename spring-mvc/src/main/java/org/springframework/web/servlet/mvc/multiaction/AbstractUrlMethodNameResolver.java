@@ -91,7 +91,7 @@ public abstract class AbstractUrlMethodNameResolver implements MethodNameResolve
 	public final String getHandlerMethodName(HttpServletRequest request)
 			throws NoSuchRequestHandlingMethodException {
 
-		String urlPath = this.urlPathHelper.getLookupPathForRequest(request);
+		String urlPath = this.urlPathHelper.getRequestPath(request).getLookupPath();
 		String name = getHandlerMethodNameForUrlPath(urlPath);
 		if (name == null) {
 			throw new NoSuchRequestHandlingMethodException(urlPath, request.getMethod(), request.getParameterMap());
@@ -61,6 +61,9 @@ public class CachingResourceResolver extends AbstractResourceResolver {
 			if (encoding != null && encoding.contains("gzip")) {
 				key.append("+encoding=gzip");
 			}
+			if (encoding != null && encoding.contains("deflate")) {
+				key.append("+encoding=deflate");
+			}
 		}
 		return key.toString();
 	}
@@ -43,6 +43,10 @@ public class CachingResourceTransformer implements ResourceTransformer {
 			return transformed;
 		}
 		transformed = transformerChain.transform(request, resource);
+		if (transformed instanceof EncodedResource) {
+			// 编码取决于请求的Accept-Encoding, 不能按资源缓存
+			return transformed;
+		}
 		if (logger.isTraceEnabled()) {
 			logger.trace("Putting transformed resource in cache: " + transformed);
 		}
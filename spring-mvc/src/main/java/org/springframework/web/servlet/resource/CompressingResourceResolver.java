@@ -0,0 +1,423 @@
+package org.springframework.web.servlet.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+//压缩资源解析器: 按Accept-Encoding在首次访问时压缩资源(gzip/deflate), 压缩结果按内容摘要和编码缓存在内存及可选的磁盘目录中
+//与内容转换器同时使用时, 应改为把CompressingResourceTransformer配置为第一个转换器
+public class CompressingResourceResolver extends AbstractResourceResolver {
+
+	public static final String GZIP = "gzip";
+
+	public static final String DEFLATE = "deflate";
+
+	private static final Set<String> SUPPORTED_ENCODINGS = new HashSet<String>(Arrays.asList(GZIP, DEFLATE));
+
+	private List<String> contentEncodings = Arrays.asList(GZIP, DEFLATE);    //按优先级排列的编码
+
+	private Set<String> fileExtensions = new HashSet<String>(
+			Arrays.asList("html", "htm", "css", "js", "json", "xml", "svg", "txt", "csv", "map"));    //可压缩的文件扩展名
+
+	private long minContentLength = 1024;           //最小压缩长度
+
+	private long maxContentLength = 1024 * 1024;    //最大压缩长度
+
+	private File cacheDirectory;                    //磁盘缓存目录
+
+	private int diskCacheLimit = 1024;              //磁盘缓存文件数上限
+
+	private volatile ConcurrentLruCache<String, String> contentHashCache =
+			new ConcurrentLruCache<String, String>(1024);    //资源 -> 内容摘要
+
+	private int cacheLimit = 256;                   //内存缓存条目数上限
+
+	private long cacheSizeLimit = 8 * 1024 * 1024;  //内存缓存总字节数上限, 即压缩内容占用内存的最坏情况
+
+	private final Map<String, byte[]> compressedContentCache =
+			new LinkedHashMap<String, byte[]>(256, 0.75f, true);    //内容摘要+编码 -> 压缩内容, 按访问顺序排列
+
+	private long cacheSize;                         //内存缓存中压缩内容的总字节数
+
+
+	//设置支持的编码, 按优先级排列
+	public void setContentEncodings(String... contentEncodings) {
+		Assert.notEmpty(contentEncodings, "At least one content encoding is required");
+		for (String encoding : contentEncodings) {
+			Assert.isTrue(SUPPORTED_ENCODINGS.contains(encoding), "Unsupported content encoding: " + encoding);
+		}
+		this.contentEncodings = Arrays.asList(contentEncodings);
+	}
+
+	//获取支持的编码
+	public List<String> getContentEncodings() {
+		return Collections.unmodifiableList(this.contentEncodings);
+	}
+
+	//设置可压缩的文件扩展名, 为空时压缩所有资源
+	public void setFileExtensions(String... fileExtensions) {
+		Set<String> extensions = new LinkedHashSet<String>();
+		for (String extension : fileExtensions) {
+			extensions.add(extension.toLowerCase(Locale.ENGLISH));
+		}
+		this.fileExtensions = extensions;
+	}
+
+	//获取可压缩的文件扩展名
+	public Set<String> getFileExtensions() {
+		return Collections.unmodifiableSet(this.fileExtensions);
+	}
+
+	//设置最小压缩长度
+	public void setMinContentLength(long minContentLength) {
+		this.minContentLength = minContentLength;
+	}
+
+	//获取最小压缩长度
+	public long getMinContentLength() {
+		return this.minContentLength;
+	}
+
+	//设置最大压缩长度
+	public void setMaxContentLength(long maxContentLength) {
+		this.maxContentLength = maxContentLength;
+	}
+
+	//获取最大压缩长度
+	public long getMaxContentLength() {
+		return this.maxContentLength;
+	}
+
+	//设置磁盘缓存目录
+	public void setCacheDirectory(File cacheDirectory) {
+		if (cacheDirectory != null && !cacheDirectory.isDirectory()) {
+			Assert.isTrue(cacheDirectory.mkdirs(), "Cannot create cache directory: " + cacheDirectory);
+		}
+		this.cacheDirectory = cacheDirectory;
+	}
+
+	//获取磁盘缓存目录
+	public File getCacheDirectory() {
+		return this.cacheDirectory;
+	}
+
+	//设置磁盘缓存文件数上限
+	public void setDiskCacheLimit(int diskCacheLimit) {
+		Assert.isTrue(diskCacheLimit > 0, "Disk cache limit must be greater than 0");
+		this.diskCacheLimit = diskCacheLimit;
+	}
+
+	//获取磁盘缓存文件数上限
+	public int getDiskCacheLimit() {
+		return this.diskCacheLimit;
+	}
+
+	//设置内存缓存条目数上限
+	public void setCacheLimit(int cacheLimit) {
+		Assert.isTrue(cacheLimit > 0, "Cache limit must be greater than 0");
+		synchronized (this.compressedContentCache) {
+			this.cacheLimit = cacheLimit;
+			evictCachedContent();
+		}
+	}
+
+	//获取内存缓存条目数上限
+	public int getCacheLimit() {
+		synchronized (this.compressedContentCache) {
+			return this.cacheLimit;
+		}
+	}
+
+	//设置内存缓存总字节数上限, 超出时淘汰最近最少使用的压缩内容, 大于此上限的压缩内容不缓存在内存中
+	public void setCacheSizeLimit(long cacheSizeLimit) {
+		Assert.isTrue(cacheSizeLimit > 0, "Cache size limit must be greater than 0");
+		synchronized (this.compressedContentCache) {
+			this.cacheSizeLimit = cacheSizeLimit;
+			evictCachedContent();
+		}
+	}
+
+	//获取内存缓存总字节数上限
+	public long getCacheSizeLimit() {
+		synchronized (this.compressedContentCache) {
+			return this.cacheSizeLimit;
+		}
+	}
+
+	//清空内存缓存
+	public void clearCache() {
+		this.contentHashCache.clear();
+		synchronized (this.compressedContentCache) {
+			this.compressedContentCache.clear();
+			this.cacheSize = 0;
+		}
+	}
+
+
+	@Override
+	protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+			List<? extends Resource> locations, ResourceResolverChain chain) {
+
+		Resource resource = chain.resolveResource(request, requestPath, locations);
+		if (resource == null || request == null) {
+			return resource;
+		}
+		return compress(request, resource);
+	}
+
+	@Override
+	protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+			ResourceResolverChain chain) {
+
+		return chain.resolveUrlPath(resourceUrlPath, locations);
+	}
+
+	//按请求接受的编码压缩资源, 不可压缩或压缩失败时返回原资源
+	Resource compress(HttpServletRequest request, Resource resource) {
+		if (resource instanceof EncodedResource || !isCompressible(resource)) {
+			return resource;
+		}
+		String encoding = getAcceptedEncoding(request);
+		if (encoding == null) {
+			return resource;
+		}
+		try {
+			byte[] content = null;
+			String contentHash;
+			String resourceKey = null;
+			long contentLength;
+			if (resource instanceof ByteArrayResource) {
+				// 转换后的资源已在内存中
+				content = ((ByteArrayResource) resource).getByteArray();
+				contentLength = content.length;
+				if (contentLength < this.minContentLength || contentLength > this.maxContentLength) {
+					return resource;
+				}
+				contentHash = DigestUtils.md5DigestAsHex(content);
+			}
+			else {
+				contentLength = resource.contentLength();
+				if (contentLength < this.minContentLength || contentLength > this.maxContentLength) {
+					return resource;
+				}
+				resourceKey = resource.getDescription() + "@" + resource.lastModified() + "@" + contentLength;
+				contentHash = this.contentHashCache.get(resourceKey);
+			}
+			byte[] compressed = (contentHash != null ? getCachedContent(contentHash, encoding) : null);
+			if (compressed == null) {
+				if (content == null) {
+					content = StreamUtils.copyToByteArray(resource.getInputStream());
+					contentLength = content.length;
+					contentHash = DigestUtils.md5DigestAsHex(content);
+					this.contentHashCache.put(resourceKey, contentHash);
+					compressed = getCachedContent(contentHash, encoding);
+				}
+				if (compressed == null) {
+					compressed = compress(content, encoding);
+					putCachedContent(contentHash, encoding, compressed);
+				}
+			}
+			if (compressed.length >= contentLength) {
+				return resource;
+			}
+			return new CompressedResource(resource, compressed, encoding);
+		}
+		catch (IOException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to compress resource [" + resource.getFilename() + "]", ex);
+			}
+			return resource;
+		}
+	}
+
+	//是否为可压缩的资源
+	boolean isCompressible(Resource resource) {
+		if (this.fileExtensions.isEmpty()) {
+			return true;
+		}
+		String extension = StringUtils.getFilenameExtension(resource.getFilename());
+		return (extension != null && this.fileExtensions.contains(extension.toLowerCase(Locale.ENGLISH)));
+	}
+
+	//获取请求接受的编码, 无可用编码时返回null
+	private String getAcceptedEncoding(HttpServletRequest request) {
+		String header = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+		if (!StringUtils.hasText(header)) {
+			return null;
+		}
+		Set<String> accepted = new HashSet<String>();
+		Set<String> rejected = new HashSet<String>();
+		for (String token : StringUtils.tokenizeToStringArray(header, ",")) {
+			int index = token.indexOf(';');
+			String coding = (index != -1 ? token.substring(0, index).trim() : token).toLowerCase(Locale.ENGLISH);
+			if (index != -1 && isZeroQuality(token.substring(index + 1))) {
+				rejected.add(coding);
+			}
+			else {
+				accepted.add(coding);
+			}
+		}
+		for (String encoding : this.contentEncodings) {
+			if (!rejected.contains(encoding) && (accepted.contains(encoding) || accepted.contains("*"))) {
+				return encoding;
+			}
+		}
+		return null;
+	}
+
+	private static boolean isZeroQuality(String parameters) {
+		for (String parameter : StringUtils.tokenizeToStringArray(parameters, ";")) {
+			if (parameter.startsWith("q=")) {
+				try {
+					return (Double.parseDouble(parameter.substring(2).trim()) == 0);
+				}
+				catch (NumberFormatException ex) {
+					return false;
+				}
+			}
+		}
+		return false;
+	}
+
+	//获取缓存的压缩内容, 先查内存再查磁盘
+	private byte[] getCachedContent(String contentHash, String encoding) throws IOException {
+		String key = contentHash + "." + encoding;
+		byte[] compressed;
+		synchronized (this.compressedContentCache) {
+			compressed = this.compressedContentCache.get(key);
+		}
+		if (compressed == null && this.cacheDirectory != null) {
+			File file = new File(this.cacheDirectory, key);
+			if (file.isFile()) {
+				compressed = FileCopyUtils.copyToByteArray(file);
+				putInMemoryCache(key, compressed);
+			}
+		}
+		return compressed;
+	}
+
+	//缓存压缩内容到内存, 超出条目数或总字节数上限时淘汰最近最少使用的压缩内容
+	private void putInMemoryCache(String key, byte[] compressed) {
+		synchronized (this.compressedContentCache) {
+			if (compressed.length > this.cacheSizeLimit) {
+				return;
+			}
+			byte[] previous = this.compressedContentCache.put(key, compressed);
+			this.cacheSize += compressed.length - (previous != null ? previous.length : 0);
+			evictCachedContent();
+		}
+	}
+
+	//淘汰最近最少使用的压缩内容直至不超过上限(需持有compressedContentCache锁)
+	private void evictCachedContent() {
+		Iterator<byte[]> it = this.compressedContentCache.values().iterator();
+		while (it.hasNext() && (this.compressedContentCache.size() > this.cacheLimit ||
+				this.cacheSize > this.cacheSizeLimit)) {
+			this.cacheSize -= it.next().length;
+			it.remove();
+		}
+	}
+
+	//缓存压缩内容到内存及磁盘
+	private void putCachedContent(String contentHash, String encoding, byte[] compressed) {
+		String key = contentHash + "." + encoding;
+		putInMemoryCache(key, compressed);
+		if (this.cacheDirectory != null) {
+			try {
+				File tempFile = File.createTempFile(key, ".tmp", this.cacheDirectory);
+				FileCopyUtils.copy(compressed, tempFile);
+				if (!tempFile.renameTo(new File(this.cacheDirectory, key))) {
+					tempFile.delete();
+				}
+				evictDiskCache();
+			}
+			catch (IOException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Failed to write compressed content to cache directory [" +
+							this.cacheDirectory + "]", ex);
+				}
+			}
+		}
+	}
+
+	//磁盘缓存超出上限时删除最早写入的文件
+	private void evictDiskCache() {
+		File[] files = this.cacheDirectory.listFiles();
+		if (files == null || files.length <= this.diskCacheLimit) {
+			return;
+		}
+		Arrays.sort(files, new Comparator<File>() {
+			@Override
+			public int compare(File file1, File file2) {
+				long lastModified1 = file1.lastModified();
+				long lastModified2 = file2.lastModified();
+				return (lastModified1 < lastModified2 ? -1 : (lastModified1 > lastModified2 ? 1 : 0));
+			}
+		});
+		for (int i = 0; i < files.length - this.diskCacheLimit; i++) {
+			files[i].delete();
+		}
+	}
+
+	private static byte[] compress(byte[] content, String encoding) throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream(content.length / 2 + 64);
+		DeflaterOutputStream out = (GZIP.equals(encoding) ? new GZIPOutputStream(baos) : new DeflaterOutputStream(baos));
+		try {
+			out.write(content);
+		}
+		finally {
+			out.close();
+		}
+		return baos.toByteArray();
+	}
+
+
+	//压缩后的资源
+	private static final class CompressedResource extends TransformedResource implements EncodedResource {
+
+		private final String description;
+
+		private final String contentEncoding;
+
+		public CompressedResource(Resource original, byte[] compressedContent, String contentEncoding) {
+			super(original, compressedContent);
+			this.description = original.getDescription();
+			this.contentEncoding = contentEncoding;
+		}
+
+		@Override
+		public String getDescription() {
+			return this.contentEncoding + " encoded " + this.description;
+		}
+
+		@Override
+		public String getContentEncoding() {
+			return this.contentEncoding;
+		}
+	}
+
+}
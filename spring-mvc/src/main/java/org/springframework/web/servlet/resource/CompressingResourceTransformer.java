@@ -0,0 +1,42 @@
+package org.springframework.web.servlet.resource;
+
+import java.io.IOException;
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+//压缩资源转换器: 应配置为第一个转换器(位于CachingResourceTransformer之前), 以压缩其他转换器的输出
+//转换结果按资源缓存, 压缩按每个请求的Accept-Encoding进行, 压缩结果按内容摘要和编码缓存
+//压缩的配置及缓存由CompressingResourceResolver提供
+public class CompressingResourceTransformer implements ResourceTransformer {
+
+	private final CompressingResourceResolver compressingResolver;
+
+	//构造器
+	public CompressingResourceTransformer() {
+		this(new CompressingResourceResolver());
+	}
+
+	//构造器
+	public CompressingResourceTransformer(CompressingResourceResolver compressingResolver) {
+		Assert.notNull(compressingResolver, "CompressingResourceResolver is required");
+		this.compressingResolver = compressingResolver;
+	}
+
+	//获取压缩资源解析器
+	public CompressingResourceResolver getCompressingResolver() {
+		return this.compressingResolver;
+	}
+
+	@Override
+	public Resource transform(HttpServletRequest request, Resource resource, ResourceTransformerChain transformerChain)
+			throws IOException {
+		Resource transformed = transformerChain.transform(request, resource);
+		if (request == null) {
+			return transformed;
+		}
+		return this.compressingResolver.compress(request, transformed);
+	}
+
+}
@@ -1,20 +1,44 @@
 package org.springframework.web.servlet.resource;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.core.io.Resource;
 import org.springframework.util.DigestUtils;
 import org.springframework.util.FileCopyUtils;
 
 //内容版本策略
+//计算出的版本按资源路径及最后修改时间缓存在版本索引中, 文件修改后索引项自动失效
 public class ContentVersionStrategy extends AbstractVersionStrategy {
 
+    //版本索引: 资源路径 -> 版本
+    private final Map<String, ResourceVersion> versionIndex = new ConcurrentHashMap<String, ResourceVersion>(256);
+
     public ContentVersionStrategy() {
         super(new FileNameVersionPathStrategy());
     }
 
     @Override
     public String getResourceVersion(Resource resource) {
+        String key = getIndexKey(resource);
+        long lastModified = getLastModified(resource);
+        if (key != null && lastModified > 0) {
+            ResourceVersion indexed = this.versionIndex.get(key);
+            if (indexed != null && indexed.lastModified == lastModified) {
+                return indexed.version;
+            }
+        }
+        String version = computeResourceVersion(resource);
+        if (key != null && lastModified > 0) {
+            this.versionIndex.put(key, new ResourceVersion(lastModified, version));
+        }
+        return version;
+    }
+
+    //计算资源内容的摘要
+    protected String computeResourceVersion(Resource resource) {
         try {
             byte[] content = FileCopyUtils.copyToByteArray(resource.getInputStream());
             return DigestUtils.md5DigestAsHex(content);
@@ -23,4 +47,51 @@ public class ContentVersionStrategy extends AbstractVersionStrategy {
         }
     }
 
+    //版本索引中的条目数
+    public int getVersionIndexSize() {
+        return this.versionIndex.size();
+    }
+
+    //清空版本索引
+    public void clearVersionIndex() {
+        this.versionIndex.clear();
+    }
+
+    //获取索引键: 优先使用文件的绝对路径, 使不同Resource实现指向同一文件时共享索引项
+    private String getIndexKey(Resource resource) {
+        try {
+            File file = resource.getFile();
+            return file.getAbsolutePath();
+        } catch (IOException ex) {
+            // 不在文件系统中, 例如jar中的资源
+        }
+        try {
+            return resource.getURL().toExternalForm();
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private long getLastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+
+
+    //索引中的版本
+    private static class ResourceVersion {
+
+        private final long lastModified;
+
+        private final String version;
+
+        public ResourceVersion(long lastModified, String version) {
+            this.lastModified = lastModified;
+            this.version = version;
+        }
+    }
+
 }
@@ -238,7 +238,9 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		if (this.resourceResolvers.isEmpty()) {
 			this.resourceResolvers.add(new PathResourceResolver());
 		}
+		initCompressingTransformer();
 		initAllowedLocations();
+		initVersionIndex();
 
 		if (this.resourceHttpMessageConverter == null) {
 			this.resourceHttpMessageConverter = new ResourceHttpMessageConverter();
@@ -250,6 +252,47 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		this.contentNegotiationStrategy = initContentNegotiationStrategy();
 	}
 
+	/**
+	 * Let each {@code VersionResourceResolver} among the configured resource
+	 * resolvers precompute the content versions of the resources in the
+	 * {@link #setLocations locations} configured on this class.
+	 * @since 4.3.13
+	 * @see VersionResourceResolver#initVersionIndex
+	 */
+	protected void initVersionIndex() {
+		if (CollectionUtils.isEmpty(this.locations)) {
+			return;
+		}
+		for (ResourceResolver resolver : getResourceResolvers()) {
+			if (resolver instanceof VersionResourceResolver) {
+				((VersionResourceResolver) resolver).initVersionIndex(this.locations);
+			}
+		}
+	}
+
+	/**
+	 * Move a {@code CompressingResourceTransformer} that is configured after a
+	 * {@code CachingResourceTransformer} in front of it, so that the cache holds
+	 * the uncompressed transformer output and the content encoding is negotiated
+	 * for every request.
+	 * @since 4.3.13
+	 * @see CompressingResourceTransformer
+	 */
+	protected void initCompressingTransformer() {
+		int cachingIndex = -1;
+		for (int i = 0; i < this.resourceTransformers.size(); i++) {
+			ResourceTransformer transformer = this.resourceTransformers.get(i);
+			if (transformer instanceof CachingResourceTransformer && cachingIndex == -1) {
+				cachingIndex = i;
+			}
+			else if (transformer instanceof CompressingResourceTransformer && cachingIndex != -1) {
+				this.resourceTransformers.remove(i);
+				this.resourceTransformers.add(cachingIndex, transformer);
+				return;
+			}
+		}
+	}
+
 	/**
 	 * Look for a {@code PathResourceResolver} among the configured resource
 	 * resolvers and set its {@code allowedLocations} property (if empty) to
@@ -548,6 +591,11 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		}
 		if (resource instanceof EncodedResource) {
 			response.setHeader(HttpHeaders.CONTENT_ENCODING, ((EncodedResource) resource).getContentEncoding());
+			response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		}
+		else if (isCompressible(resource)) {
+			// The identity response depends on Accept-Encoding as well
+			response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
 		}
 		if (resource instanceof VersionedResource) {
 			response.setHeader(HttpHeaders.ETAG, "\"" + ((VersionedResource) resource).getVersion() + "\"");
@@ -556,6 +604,27 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 	}
 
 
+	/**
+	 * Whether a configured {@code CompressingResourceResolver} or
+	 * {@code CompressingResourceTransformer} may serve the given resource
+	 * in compressed form, depending on the request's Accept-Encoding header.
+	 */
+	private boolean isCompressible(Resource resource) {
+		for (ResourceResolver resolver : this.resourceResolvers) {
+			if (resolver instanceof CompressingResourceResolver &&
+					((CompressingResourceResolver) resolver).isCompressible(resource)) {
+				return true;
+			}
+		}
+		for (ResourceTransformer transformer : this.resourceTransformers) {
+			if (transformer instanceof CompressingResourceTransformer &&
+					((CompressingResourceTransformer) transformer).getCompressingResolver().isCompressible(resource)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public String toString() {
 		return "ResourceHttpRequestHandler [locations=" + getLocations() + ", resolvers=" + getResourceResolvers() + "]";
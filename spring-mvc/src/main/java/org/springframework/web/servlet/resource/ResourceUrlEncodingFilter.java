@@ -86,7 +86,7 @@ public class ResourceUrlEncodingFilter extends GenericFilterBean {
 			if (this.indexLookupPath == null) {
 				UrlPathHelper pathHelper = urlProvider.getUrlPathHelper();
 				String requestUri = pathHelper.getRequestUri(this.request);
-				String lookupPath = pathHelper.getLookupPathForRequest(this.request);
+				String lookupPath = pathHelper.getRequestPath(this.request).getLookupPath();
 				this.indexLookupPath = requestUri.lastIndexOf(lookupPath);
 				this.prefixLookupPath = requestUri.substring(0, this.indexLookupPath);
 
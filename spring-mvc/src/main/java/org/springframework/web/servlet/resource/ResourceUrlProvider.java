@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.servlet.http.HttpServletRequest;
 
 import org.apache.commons.logging.Log;
@@ -33,6 +34,7 @@ import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.PathMatcher;
+import org.springframework.util.PathPattern;
 import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
 import org.springframework.web.util.UrlPathHelper;
 
@@ -59,6 +61,8 @@ public class ResourceUrlProvider implements ApplicationListener<ContextRefreshed
 
 	private boolean autodetect = true;
 
+	private final Map<String, PathPattern> pathPatternCache = new ConcurrentHashMap<String, PathPattern>(16);
+
 
 	/**
 	 * Configure a {@code UrlPathHelper} to use in
@@ -91,6 +95,7 @@ public class ResourceUrlProvider implements ApplicationListener<ContextRefreshed
 	 */
 	public void setPathMatcher(PathMatcher pathMatcher) {
 		this.pathMatcher = pathMatcher;
+		this.pathPatternCache.clear();
 	}
 
 	/**
@@ -192,7 +197,7 @@ public class ResourceUrlProvider implements ApplicationListener<ContextRefreshed
 	private int getLookupPathIndex(HttpServletRequest request) {
 		UrlPathHelper pathHelper = getUrlPathHelper();
 		String requestUri = pathHelper.getRequestUri(request);
-		String lookupPath = pathHelper.getLookupPathForRequest(request);
+		String lookupPath = pathHelper.getRequestPath(request).getLookupPath();
 		return requestUri.indexOf(lookupPath);
 	}
 
@@ -226,6 +231,10 @@ public class ResourceUrlProvider implements ApplicationListener<ContextRefreshed
 			logger.trace("Getting resource URL for lookup path \"" + lookupPath + "\"");
 		}
 
+		if (getPathMatcher().getClass() == AntPathMatcher.class) {
+			return getForLookupPath(lookupPath, (AntPathMatcher) getPathMatcher());
+		}
+
 		List<String> matchingPatterns = new ArrayList<String>();
 		for (String pattern : this.handlerMap.keySet()) {
 			if (getPathMatcher().match(pattern, lookupPath)) {
@@ -261,4 +270,50 @@ public class ResourceUrlProvider implements ApplicationListener<ContextRefreshed
 		return null;
 	}
 
+	/**
+	 * Variant of {@link #getForLookupPath(String)} for a plain {@link AntPathMatcher},
+	 * splitting the lookup path once and matching it against resource mapping
+	 * patterns compiled on first use.
+	 */
+	private String getForLookupPath(String lookupPath, AntPathMatcher pathMatcher) {
+		PathPattern.ParsedPath path = pathMatcher.parsePath(lookupPath);
+		List<PathPattern> matchingPatterns = new ArrayList<PathPattern>();
+		for (String pattern : this.handlerMap.keySet()) {
+			PathPattern pathPattern = this.pathPatternCache.get(pattern);
+			if (pathPattern == null) {
+				pathPattern = pathMatcher.compile(pattern);
+				this.pathPatternCache.put(pattern, pathPattern);
+			}
+			if (pathPattern.matches(path)) {
+				matchingPatterns.add(pathPattern);
+			}
+		}
+
+		if (!matchingPatterns.isEmpty()) {
+			Collections.sort(matchingPatterns, PathPattern.getSpecificityComparator(lookupPath));
+			for (PathPattern pattern : matchingPatterns) {
+				String pathWithinMapping = pattern.extractPathWithinPattern(path);
+				String pathMapping = lookupPath.substring(0, lookupPath.indexOf(pathWithinMapping));
+				if (logger.isTraceEnabled()) {
+					logger.trace("Invoking ResourceResolverChain for URL pattern \"" + pattern + "\"");
+				}
+				ResourceHttpRequestHandler handler = this.handlerMap.get(pattern.getPatternString());
+				ResourceResolverChain chain = new DefaultResourceResolverChain(handler.getResourceResolvers());
+				String resolved = chain.resolveUrlPath(pathWithinMapping, handler.getLocations());
+				if (resolved == null) {
+					continue;
+				}
+				if (logger.isTraceEnabled()) {
+					logger.trace("Resolved public resource URL path \"" + resolved + "\"");
+				}
+				return pathMapping + resolved;
+			}
+		}
+
+		if (logger.isDebugEnabled()) {
+			logger.debug("No matching resource mapping for lookup path \"" + lookupPath + "\"");
+		}
+		return null;
+	}
+
 }
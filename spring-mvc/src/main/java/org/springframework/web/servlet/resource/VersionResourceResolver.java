@@ -12,9 +12,14 @@ import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.servlet.http.HttpServletRequest;
 import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 
@@ -26,6 +31,9 @@ public class VersionResourceResolver extends AbstractResourceResolver {
 	//版本策略映射
 	private final Map<String, VersionStrategy> versionStrategyMap = new LinkedHashMap<String, VersionStrategy>();
 
+	//预先计算版本索引时使用的执行器
+	private Executor versionIndexExecutor;
+
 	//设置策略映射
 	public void setStrategyMap(Map<String, VersionStrategy> map) {
 		this.versionStrategyMap.clear();
@@ -65,6 +73,88 @@ public class VersionResourceResolver extends AbstractResourceResolver {
 		return this;
 	}
 
+	//设置预先计算版本索引时使用的执行器, 默认为每次初始化时创建的守护线程池
+	public void setVersionIndexExecutor(Executor versionIndexExecutor) {
+		this.versionIndexExecutor = versionIndexExecutor;
+	}
+
+	//获取预先计算版本索引时使用的执行器
+	public Executor getVersionIndexExecutor() {
+		return this.versionIndexExecutor;
+	}
+
+	//在后台为给定位置下所有使用ContentVersionStrategy的文件预先计算版本, 使请求线程不必读取资源内容
+	public void initVersionIndex(List<? extends Resource> locations) {
+		List<Runnable> tasks = new ArrayList<Runnable>();
+		for (Resource location : locations) {
+			File directory;
+			try {
+				directory = location.getFile();
+			}
+			catch (IOException ex) {
+				// 不在文件系统中, 例如jar中的位置
+				continue;
+			}
+			if (directory.isDirectory()) {
+				collectVersionTasks(directory, "", tasks);
+			}
+		}
+		if (tasks.isEmpty()) {
+			return;
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Precomputing content versions for " + tasks.size() + " resources");
+		}
+		Executor executor = this.versionIndexExecutor;
+		ExecutorService executorService = null;
+		if (executor == null) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("resource-version-");
+			threadFactory.setDaemon(true);
+			executorService = Executors.newFixedThreadPool(
+					Math.min(tasks.size(), Runtime.getRuntime().availableProcessors()), threadFactory);
+			executor = executorService;
+		}
+		for (Runnable task : tasks) {
+			executor.execute(task);
+		}
+		if (executorService != null) {
+			// 已提交的任务执行完毕后释放线程
+			executorService.shutdown();
+		}
+	}
+
+	private void collectVersionTasks(File directory, String relativePath, List<Runnable> tasks) {
+		File[] files = directory.listFiles();
+		if (files == null) {
+			return;
+		}
+		for (File file : files) {
+			String path = relativePath + file.getName();
+			if (file.isDirectory()) {
+				collectVersionTasks(file, path + "/", tasks);
+			}
+			else {
+				final VersionStrategy strategy = getStrategyForPath(path);
+				if (strategy instanceof ContentVersionStrategy) {
+					final Resource resource = new FileSystemResource(file);
+					tasks.add(new Runnable() {
+						@Override
+						public void run() {
+							try {
+								strategy.getResourceVersion(resource);
+							}
+							catch (IllegalStateException ex) {
+								if (logger.isDebugEnabled()) {
+									logger.debug("Failed to precompute version for " + resource, ex);
+								}
+							}
+						}
+					});
+				}
+			}
+		}
+	}
+
 
 	@Override
 	protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
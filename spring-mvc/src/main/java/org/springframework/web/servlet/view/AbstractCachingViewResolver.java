@@ -1,9 +1,12 @@
 package org.springframework.web.servlet.view;
 
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import org.springframework.web.context.support.WebApplicationObjectSupport;
@@ -43,32 +46,41 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
      */
     private boolean cacheUnresolved = true;
 
+    /**
+     * Time-to-live of cached views in milliseconds, or -1 for no expiration
+     */
+    private volatile long cacheTimeToLive = -1;
+
     /**
      * Fast access cache for Views, returning already cached instances without a global lock
      */
-    private final Map<Object, View> viewAccessCache = new ConcurrentHashMap<Object, View>(DEFAULT_CACHE_LIMIT);
+    private final Map<Object, CachedView> viewAccessCache = new ConcurrentHashMap<Object, CachedView>(DEFAULT_CACHE_LIMIT);
 
     /**
-     * Map from view key to View instance, synchronized for View creation
+     * Map from view key to View instance in creation order, synchronized for View creation
+     * and eviction: a View accessed since it was last considered for eviction gets a second chance
      */
-    @SuppressWarnings("serial")
-    private final Map<Object, View> viewCreationCache =
-            new LinkedHashMap<Object, View>(DEFAULT_CACHE_LIMIT, 0.75f, true) {
-                @Override
-                protected boolean removeEldestEntry(Map.Entry<Object, View> eldest) {
-                    if (size() > getCacheLimit()) {
-                        viewAccessCache.remove(eldest.getKey());
-                        return true;
-                    } else {
-                        return false;
-                    }
-                }
-            };
+    private final Map<Object, CachedView> viewCreationCache = new LinkedHashMap<Object, CachedView>(DEFAULT_CACHE_LIMIT, 0.75f);
+
+    /**
+     * Locks for view keys currently being created, so that each View is created once only
+     */
+    private final ConcurrentMap<Object, Object> viewCreationLocks = new ConcurrentHashMap<Object, Object>();
+
+    //缓存命中, 未命中及淘汰次数
+    private final AtomicLong cacheHitCount = new AtomicLong();
+
+    private final AtomicLong cacheMissCount = new AtomicLong();
+
+    private final AtomicLong cacheEvictionCount = new AtomicLong();
 
 
     //设置最大缓存视图数
     public void setCacheLimit(int cacheLimit) {
         this.cacheLimit = cacheLimit;
+        synchronized (this.viewCreationCache) {
+            evictIfNecessary(Math.max(cacheLimit, 0));
+        }
     }
 
     //获取最大缓存视图数
@@ -78,7 +90,7 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
 
     //设置是否缓存
     public void setCache(boolean cache) {
-        this.cacheLimit = (cache ? DEFAULT_CACHE_LIMIT : 0);
+        setCacheLimit(cache ? DEFAULT_CACHE_LIMIT : 0);
     }
 
     //是否设置缓存
@@ -86,6 +98,24 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
         return (this.cacheLimit > 0);
     }
 
+    /**
+     * Specify the time-to-live of cached views in milliseconds, after which
+     * a view gets created again on its next resolution.
+     * <p>Default is -1: cached views do not expire.
+     * @since 4.3.13
+     */
+    public void setCacheTimeToLive(long cacheTimeToLive) {
+        this.cacheTimeToLive = cacheTimeToLive;
+    }
+
+    /**
+     * Return the time-to-live of cached views in milliseconds.
+     * @since 4.3.13
+     */
+    public long getCacheTimeToLive() {
+        return this.cacheTimeToLive;
+    }
+
     /**
      * Whether a view name once resolved to {@code null} should be cached and
      * automatically resolved to {@code null} subsequently.
@@ -117,30 +147,99 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
             return createView(viewName, locale);
         } else {
             Object cacheKey = getCacheKey(viewName, locale);
-            View view = this.viewAccessCache.get(cacheKey);
-            if (view == null) {
-                synchronized (this.viewCreationCache) {
-                    view = this.viewCreationCache.get(cacheKey);
-                    if (view == null) {
-                        // Ask the subclass to create the View object.
-                        view = createView(viewName, locale);
-                        if (view == null && this.cacheUnresolved) {
-                            view = UNRESOLVED_VIEW;
-                        }
-                        if (view != null) {
-                            this.viewAccessCache.put(cacheKey, view);
-                            this.viewCreationCache.put(cacheKey, view);
-                            if (logger.isTraceEnabled()) {
-                                logger.trace("Cached view [" + cacheKey + "]");
+            View view = getCachedView(cacheKey);
+            if (view != null) {
+                this.cacheHitCount.incrementAndGet();
+            } else {
+                Object lock = new Object();
+                Object existingLock = this.viewCreationLocks.putIfAbsent(cacheKey, lock);
+                if (existingLock != null) {
+                    lock = existingLock;
+                }
+                try {
+                    synchronized (lock) {
+                        CachedView cachedView = this.viewAccessCache.get(cacheKey);
+                        if (cachedView != null && !cachedView.isExpired(this.cacheTimeToLive)) {
+                            // Created by another thread in the meantime
+                            this.cacheHitCount.incrementAndGet();
+                            view = cachedView.view;
+                        } else {
+                            this.cacheMissCount.incrementAndGet();
+                            if (cachedView != null) {
+                                // Expired: replaced by the new View below, or removed if unresolved
+                                this.cacheEvictionCount.incrementAndGet();
+                            }
+                            // Ask the subclass to create the View object.
+                            view = createView(viewName, locale);
+                            if (view == null && this.cacheUnresolved) {
+                                view = UNRESOLVED_VIEW;
+                            }
+                            if (view != null) {
+                                putInCache(cacheKey, new CachedView(view));
+                                if (logger.isTraceEnabled()) {
+                                    logger.trace("Cached view [" + cacheKey + "]");
+                                }
+                            } else if (cachedView != null) {
+                                removeCachedView(cacheKey);
                             }
                         }
                     }
+                } finally {
+                    this.viewCreationLocks.remove(cacheKey, lock);
                 }
             }
             return (view != UNRESOLVED_VIEW ? view : null);
         }
     }
 
+    //获取缓存的视图, 命中时无需加锁; 已过期的视图视为未缓存, 由持有创建锁的线程重新创建并替换
+    private View getCachedView(Object cacheKey) {
+        CachedView cachedView = this.viewAccessCache.get(cacheKey);
+        if (cachedView == null || cachedView.isExpired(this.cacheTimeToLive)) {
+            return null;
+        }
+        cachedView.markAccessed();
+        return cachedView.view;
+    }
+
+    //缓存视图, 超出最大缓存视图数时淘汰视图
+    private void putInCache(Object cacheKey, CachedView cachedView) {
+        synchronized (this.viewCreationCache) {
+            // Re-inserted at the tail when replacing an expired view
+            this.viewCreationCache.remove(cacheKey);
+            this.viewCreationCache.put(cacheKey, cachedView);
+            this.viewAccessCache.put(cacheKey, cachedView);
+            evictIfNecessary(this.cacheLimit);
+        }
+    }
+
+    //移除缓存的视图, 返回被移除的视图
+    private CachedView removeCachedView(Object cacheKey) {
+        synchronized (this.viewCreationCache) {
+            this.viewCreationCache.remove(cacheKey);
+            return this.viewAccessCache.remove(cacheKey);
+        }
+    }
+
+    //淘汰视图直至不超过给定数量: 按创建顺序检查, 上次检查后被访问过的视图移至队尾再给一次机会(需持有viewCreationCache锁)
+    private void evictIfNecessary(int cacheLimit) {
+        int secondChances = this.viewCreationCache.size();
+        while (this.viewCreationCache.size() > cacheLimit) {
+            Iterator<Map.Entry<Object, CachedView>> it = this.viewCreationCache.entrySet().iterator();
+            Map.Entry<Object, CachedView> eldest = it.next();
+            it.remove();
+            if (eldest.getValue().resetAccessed() && secondChances-- > 0) {
+                this.viewCreationCache.put(eldest.getKey(), eldest.getValue());
+            } else {
+                this.viewAccessCache.remove(eldest.getKey());
+                this.cacheEvictionCount.incrementAndGet();
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Cache limit reached, evicted view [" + eldest.getKey() + "]");
+                }
+            }
+        }
+    }
+
     //获取缓存键
     protected Object getCacheKey(String viewName, Locale locale) {
         return viewName + '_' + locale;
@@ -152,14 +251,10 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
             logger.warn("View caching is SWITCHED OFF -- removal not necessary");
         } else {
             Object cacheKey = getCacheKey(viewName, locale);
-            Object cachedView;
-            synchronized (this.viewCreationCache) {
-                this.viewAccessCache.remove(cacheKey);
-                cachedView = this.viewCreationCache.remove(cacheKey);
-            }
+            boolean removed = (removeCachedView(cacheKey) != null);
             if (logger.isDebugEnabled()) {
                 // Some debug output might be useful...
-                if (cachedView == null) {
+                if (!removed) {
                     logger.debug("No cached instance for view '" + cacheKey + "' was found");
                 } else {
                     logger.debug("Cache for view " + cacheKey + " has been cleared");
@@ -177,6 +272,26 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
         }
     }
 
+    //获取缓存的视图数
+    public int getCacheSize() {
+        return this.viewAccessCache.size();
+    }
+
+    //获取缓存命中次数
+    public long getCacheHitCount() {
+        return this.cacheHitCount.get();
+    }
+
+    //获取缓存未命中(即创建视图)次数
+    public long getCacheMissCount() {
+        return this.cacheMissCount.get();
+    }
+
+    //获取因超出最大缓存视图数或过期而淘汰的视图数
+    public long getCacheEvictionCount() {
+        return this.cacheEvictionCount.get();
+    }
+
     //创建视图对象
     protected View createView(String viewName, Locale locale) throws Exception {
         return loadView(viewName, locale);
@@ -185,4 +300,36 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
     //加载视图对象
     protected abstract View loadView(String viewName, Locale locale) throws Exception;
 
+
+    //缓存的视图及其创建时间, 以及上次淘汰检查后是否被访问过
+    private static class CachedView {
+
+        private final View view;
+
+        private final long creationTime = System.currentTimeMillis();
+
+        private volatile boolean accessed;
+
+        public CachedView(View view) {
+            this.view = view;
+        }
+
+        public boolean isExpired(long timeToLive) {
+            return (timeToLive >= 0 && System.currentTimeMillis() - this.creationTime > timeToLive);
+        }
+
+        public void markAccessed() {
+            // Read first, so that hits on a hot view do not keep writing the same cache line
+            if (!this.accessed) {
+                this.accessed = true;
+            }
+        }
+
+        public boolean resetAccessed() {
+            boolean accessed = this.accessed;
+            this.accessed = false;
+            return accessed;
+        }
+    }
+
 }
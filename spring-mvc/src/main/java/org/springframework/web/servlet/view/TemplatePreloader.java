@@ -0,0 +1,203 @@
+package org.springframework.web.servlet.view;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Helper for preloading view templates at startup, so that the first requests
+ * after a deployment do not have to wait for templates to be read and compiled.
+ *
+ * <p>Discovers all templates with a given suffix under a set of template loader
+ * paths and hands their names, relative to the loader path, to a
+ * {@link TemplateCallback} that compiles them into the template cache of the
+ * view technology. Templates are preloaded in parallel, on a temporary pool of
+ * threads; the number of preloaded and failed templates and the time spent
+ * are kept for monitoring.
+ *
+ * @since 4.3.13
+ * @see org.springframework.web.servlet.view.freemarker.FreeMarkerConfigurer#setPreloadTemplateSuffix
+ * @see org.springframework.web.servlet.view.script.ScriptTemplateConfigurer#setPreloadTemplateSuffix
+ */
+public class TemplatePreloader {
+
+    private static final Log logger = LogFactory.getLog(TemplatePreloader.class);
+
+    private final ResourcePatternResolver resourcePatternResolver;
+
+    private int concurrency = Runtime.getRuntime().availableProcessors();
+
+    private final AtomicInteger preloadedCount = new AtomicInteger();
+
+    private final AtomicInteger failedCount = new AtomicInteger();
+
+    private volatile long preloadTime;
+
+
+    /**
+     * Create a new TemplatePreloader for the given ResourceLoader.
+     * @param resourceLoader the ResourceLoader to find templates with
+     * (typically the ApplicationContext)
+     */
+    public TemplatePreloader(ResourceLoader resourceLoader) {
+        this.resourcePatternResolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
+    }
+
+
+    /**
+     * Set the maximum number of templates to preload concurrently.
+     * <p>Default is the number of available processors.
+     */
+    public void setConcurrency(int concurrency) {
+        Assert.isTrue(concurrency > 0, "Concurrency must be greater than 0");
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Return the maximum number of templates to preload concurrently.
+     */
+    public int getConcurrency() {
+        return this.concurrency;
+    }
+
+
+    /**
+     * Find all templates with the given suffix under the given loader paths.
+     * <p>Loader paths that cannot be searched (e.g. non-existing directories)
+     * are skipped.
+     * @param loaderPaths the template loader paths, as Spring resource locations
+     * @param suffix the template suffix, e.g. ".ftl"
+     * @return the template names, relative to their loader path
+     */
+    public Set<String> findTemplates(String[] loaderPaths, String suffix) {
+        Set<String> templateNames = new LinkedHashSet<String>();
+        for (String loaderPath : loaderPaths) {
+            String path = loaderPath.trim();
+            if (!path.endsWith("/") && !path.endsWith(":")) {
+                path = path + "/";
+            }
+            try {
+                Resource root = this.resourcePatternResolver.getResource(path);
+                if (!root.exists()) {
+                    continue;
+                }
+                String rootUrl = root.getURL().toExternalForm();
+                for (Resource template : this.resourcePatternResolver.getResources(path + "**/*" + suffix)) {
+                    String url = template.getURL().toExternalForm();
+                    if (url.startsWith(rootUrl)) {
+                        templateNames.add(url.substring(rootUrl.length()));
+                    }
+                }
+            }
+            catch (IOException ex) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Cannot search for templates in [" + path + "]", ex);
+                }
+            }
+        }
+        return templateNames;
+    }
+
+    /**
+     * Preload the given templates in parallel, waiting for all of them to
+     * be processed. Failures are logged and counted, but not propagated.
+     * @param templateNames the names of the templates to preload
+     * @param callback the callback that compiles a template
+     */
+    public void preload(Collection<String> templateNames, final TemplateCallback callback) {
+        if (templateNames.isEmpty()) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        List<Callable<Object>> tasks = new ArrayList<Callable<Object>>(templateNames.size());
+        for (final String templateName : templateNames) {
+            tasks.add(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    try {
+                        callback.preload(templateName);
+                        preloadedCount.incrementAndGet();
+                    }
+                    catch (Exception ex) {
+                        failedCount.incrementAndGet();
+                        if (logger.isWarnEnabled()) {
+                            logger.warn("Failed to preload template [" + templateName + "]: " + ex);
+                        }
+                    }
+                    return null;
+                }
+            });
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("template-preload-");
+        threadFactory.setDaemon(true);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.concurrency, tasks.size()), threadFactory);
+        try {
+            executor.invokeAll(tasks);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        this.preloadTime += System.currentTimeMillis() - startTime;
+        if (logger.isInfoEnabled()) {
+            logger.info("Preloaded " + this.preloadedCount + " templates in " + this.preloadTime + " ms" +
+                    (this.failedCount.get() > 0 ? " (" + this.failedCount + " failed)" : ""));
+        }
+    }
+
+    /**
+     * Return the number of successfully preloaded templates.
+     */
+    public int getPreloadedCount() {
+        return this.preloadedCount.get();
+    }
+
+    /**
+     * Return the number of templates that failed to preload.
+     */
+    public int getFailedCount() {
+        return this.failedCount.get();
+    }
+
+    /**
+     * Return the time spent preloading templates, in milliseconds.
+     */
+    public long getPreloadTime() {
+        return this.preloadTime;
+    }
+
+
+    /**
+     * Callback that compiles a single template into the template cache
+     * of a view technology.
+     */
+    public interface TemplateCallback {
+
+        /**
+         * Compile the template with the given name.
+         * @param templateName the template name, relative to its loader path
+         * @throws Exception in case of failure to read or compile the template
+         */
+        void preload(String templateName) throws Exception;
+    }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2012 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.web.servlet.view.freemarker;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 import javax.servlet.ServletContext;
 
 import freemarker.cache.ClassTemplateLoader;
@@ -30,6 +31,7 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.ui.freemarker.FreeMarkerConfigurationFactory;
 import org.springframework.web.context.ServletContextAware;
+import org.springframework.web.servlet.view.TemplatePreloader;
 
 /**
  * JavaBean to configure FreeMarker for web usage, via the "configLocation"
@@ -63,6 +65,9 @@ import org.springframework.web.context.ServletContextAware;
  * &lt;@spring.bind "person.age"/&gt;
  * age is ${spring.status.value}</pre>
  *
+ * <p>Templates can be compiled into FreeMarker's template cache at startup,
+ * through the {@link #setPreloadTemplateSuffix "preloadTemplateSuffix"} property.
+ *
  * Note: Spring's FreeMarker support requires FreeMarker 2.3 or higher.
  *
  * @author Darren Davison
@@ -82,6 +87,12 @@ public class FreeMarkerConfigurer extends FreeMarkerConfigurationFactory
 
 	private TaglibFactory taglibFactory;
 
+	private String[] templateLoaderPaths;
+
+	private String preloadTemplateSuffix;
+
+	private TemplatePreloader templatePreloader;
+
 
 	/**
 	 * Set a preconfigured Configuration to use for the FreeMarker web config, e.g. a
@@ -94,6 +105,32 @@ public class FreeMarkerConfigurer extends FreeMarkerConfigurationFactory
 		this.configuration = configuration;
 	}
 
+	@Override
+	public void setTemplateLoaderPath(String templateLoaderPath) {
+		super.setTemplateLoaderPath(templateLoaderPath);
+		this.templateLoaderPaths = new String[] {templateLoaderPath};
+	}
+
+	@Override
+	public void setTemplateLoaderPaths(String... templateLoaderPaths) {
+		super.setTemplateLoaderPaths(templateLoaderPaths);
+		this.templateLoaderPaths = templateLoaderPaths;
+	}
+
+	/**
+	 * Set the suffix of the templates to compile at startup, e.g. ".ftl",
+	 * searching all {@link #setTemplateLoaderPaths template loader paths}.
+	 * Templates are compiled in parallel into FreeMarker's template cache,
+	 * for the Configuration's default locale, so that the first requests
+	 * after a deployment do not have to wait for template compilation.
+	 * <p>Default is none: templates are compiled on first use.
+	 * @since 4.3.13
+	 * @see TemplatePreloader
+	 */
+	public void setPreloadTemplateSuffix(String preloadTemplateSuffix) {
+		this.preloadTemplateSuffix = preloadTemplateSuffix;
+	}
+
 	/**
 	 * Initialize the {@link TaglibFactory} for the given ServletContext.
 	 */
@@ -115,6 +152,27 @@ public class FreeMarkerConfigurer extends FreeMarkerConfigurationFactory
 		if (this.configuration == null) {
 			this.configuration = createConfiguration();
 		}
+		if (this.preloadTemplateSuffix != null && this.templateLoaderPaths != null) {
+			preloadTemplates();
+		}
+	}
+
+	/**
+	 * Compile all templates with the {@link #setPreloadTemplateSuffix preload suffix}
+	 * under the template loader paths, in parallel.
+	 * @since 4.3.13
+	 */
+	protected void preloadTemplates() {
+		final Configuration configuration = this.configuration;
+		TemplatePreloader preloader = new TemplatePreloader(getResourceLoader());
+		Set<String> templateNames = preloader.findTemplates(this.templateLoaderPaths, this.preloadTemplateSuffix);
+		preloader.preload(templateNames, new TemplatePreloader.TemplateCallback() {
+			@Override
+			public void preload(String templateName) throws Exception {
+				configuration.getTemplate(templateName, configuration.getLocale());
+			}
+		});
+		this.templatePreloader = preloader;
 	}
 
 	/**
@@ -144,4 +202,13 @@ public class FreeMarkerConfigurer extends FreeMarkerConfigurationFactory
 		return this.taglibFactory;
 	}
 
+	/**
+	 * Return the preloader used at startup, exposing preload statistics,
+	 * or {@code null} if no templates have been preloaded.
+	 * @since 4.3.13
+	 */
+	public TemplatePreloader getTemplatePreloader() {
+		return this.templatePreloader;
+	}
+
 }
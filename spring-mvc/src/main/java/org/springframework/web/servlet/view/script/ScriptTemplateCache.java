@@ -0,0 +1,107 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.view.script;
+
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache for the content of script templates, shared by all
+ * {@link ScriptTemplateView ScriptTemplateViews} that use the same
+ * {@link ScriptTemplateConfigurer}, so that template files are read once
+ * rather than on every rendering. Keeps hit and miss counts for monitoring.
+ *
+ * @since 4.3.13
+ * @see ScriptTemplateConfigurer#setCacheTemplates
+ */
+public class ScriptTemplateCache {
+
+	private final Map<String, String> templates = new ConcurrentHashMap<String, String>(64);
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+
+	/**
+	 * Return the cached content of the given template.
+	 * @param url the template url, as used by the view
+	 * @param charset the charset the template was read with
+	 * @return the template content, or {@code null} if not cached
+	 */
+	public String getTemplate(String url, Charset charset) {
+		String template = this.templates.get(getCacheKey(url, charset));
+		if (template != null) {
+			this.hitCount.incrementAndGet();
+		}
+		else {
+			this.missCount.incrementAndGet();
+		}
+		return template;
+	}
+
+	/**
+	 * Cache the content of the given template.
+	 * @param url the template url, as used by the view
+	 * @param charset the charset the template was read with
+	 * @param template the template content
+	 */
+	public void putTemplate(String url, Charset charset, String template) {
+		this.templates.put(getCacheKey(url, charset), template);
+	}
+
+	/**
+	 * Remove all templates from the cache, e.g. after templates changed.
+	 */
+	public void clear() {
+		this.templates.clear();
+	}
+
+	/**
+	 * Return the number of cached templates.
+	 */
+	public int size() {
+		return this.templates.size();
+	}
+
+	/**
+	 * Return the number of lookups that found a cached template.
+	 */
+	public long getHitCount() {
+		return this.hitCount.get();
+	}
+
+	/**
+	 * Return the number of lookups that did not find a cached template.
+	 */
+	public long getMissCount() {
+		return this.missCount.get();
+	}
+
+	private String getCacheKey(String url, Charset charset) {
+		return charset.name() + ':' + url;
+	}
+
+	@Override
+	public String toString() {
+		return "ScriptTemplateCache [size = " + size() + ", hits = " + getHitCount() +
+				", misses = " + getMissCount() + "]";
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,20 @@
 
 package org.springframework.web.servlet.view.script;
 
+import java.io.InputStreamReader;
 import java.nio.charset.Charset;
+import java.util.Set;
 import javax.script.ScriptEngine;
 
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ResourceLoaderAware;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.view.TemplatePreloader;
+
 /**
  * An implementation of Spring MVC's {@link ScriptTemplateConfig} for creating
  * a {@code ScriptEngine} for use in a web application.
@@ -45,7 +56,12 @@ import javax.script.ScriptEngine;
  * @since 4.2
  * @see ScriptTemplateView
  */
-public class ScriptTemplateConfigurer implements ScriptTemplateConfig {
+public class ScriptTemplateConfigurer implements ScriptTemplateConfig, ResourceLoaderAware, InitializingBean {
+
+	private static final Charset DEFAULT_CHARSET = Charset.forName("UTF-8");
+
+	private static final String DEFAULT_RESOURCE_LOADER_PATH = "classpath:";
+
 
 	private ScriptEngine engine;
 
@@ -65,6 +81,16 @@ public class ScriptTemplateConfigurer implements ScriptTemplateConfig {
 
 	private String resourceLoaderPath;
 
+	private boolean cacheTemplates = false;
+
+	private String preloadTemplateSuffix;
+
+	private ResourceLoader resourceLoader = new DefaultResourceLoader();
+
+	private ScriptTemplateCache templateCache;
+
+	private TemplatePreloader templatePreloader;
+
 
 	/**
 	 * Set the {@link ScriptEngine} to use by the view.
@@ -222,4 +248,115 @@ public class ScriptTemplateConfigurer implements ScriptTemplateConfig {
 		return this.resourceLoaderPath;
 	}
 
+	/**
+	 * Set whether the content of template files should be cached in a
+	 * {@link ScriptTemplateCache} shared by all views, instead of being read
+	 * on every rendering. Template changes are not picked up when enabled.
+	 * <p>Default is {@code false}.
+	 * @since 4.3.13
+	 */
+	public void setCacheTemplates(boolean cacheTemplates) {
+		this.cacheTemplates = cacheTemplates;
+	}
+
+	/**
+	 * Return whether the content of template files is cached.
+	 * @since 4.3.13
+	 */
+	public boolean isCacheTemplates() {
+		return this.cacheTemplates;
+	}
+
+	/**
+	 * Set the suffix of the templates to read into the template cache at
+	 * startup, e.g. ".html", searching all {@link #setResourceLoaderPath
+	 * resource loader paths}. Only applies if {@link #setCacheTemplates
+	 * cacheTemplates} is enabled.
+	 * <p>Default is none: templates are cached on first rendering.
+	 * @since 4.3.13
+	 * @see TemplatePreloader
+	 */
+	public void setPreloadTemplateSuffix(String preloadTemplateSuffix) {
+		this.preloadTemplateSuffix = preloadTemplateSuffix;
+	}
+
+	/**
+	 * Return the suffix of the templates to read into the template cache at startup.
+	 * @since 4.3.13
+	 */
+	public String getPreloadTemplateSuffix() {
+		return this.preloadTemplateSuffix;
+	}
+
+	@Override
+	public void setResourceLoader(ResourceLoader resourceLoader) {
+		this.resourceLoader = resourceLoader;
+	}
+
+	/**
+	 * Return the template cache shared by the views,
+	 * or {@code null} if {@link #setCacheTemplates cacheTemplates} is disabled.
+	 * @since 4.3.13
+	 */
+	public ScriptTemplateCache getTemplateCache() {
+		return this.templateCache;
+	}
+
+	/**
+	 * Return the preloader used at startup, exposing preload statistics,
+	 * or {@code null} if no templates have been preloaded.
+	 * @since 4.3.13
+	 */
+	public TemplatePreloader getTemplatePreloader() {
+		return this.templatePreloader;
+	}
+
+
+	@Override
+	public void afterPropertiesSet() {
+		if (this.cacheTemplates) {
+			this.templateCache = new ScriptTemplateCache();
+			if (this.preloadTemplateSuffix != null) {
+				preloadTemplates();
+			}
+		}
+	}
+
+	/**
+	 * Read all templates with the {@link #setPreloadTemplateSuffix preload suffix}
+	 * under the resource loader paths into the template cache, in parallel.
+	 * @since 4.3.13
+	 */
+	protected void preloadTemplates() {
+		String[] paths = StringUtils.commaDelimitedListToStringArray(
+				this.resourceLoaderPath != null ? this.resourceLoaderPath : DEFAULT_RESOURCE_LOADER_PATH);
+		String[] loaderPaths = new String[paths.length];
+		// Same lookup order as ScriptTemplateView: plain location first, then each loader path
+		final String[] lookupPaths = new String[paths.length + 1];
+		lookupPaths[0] = "";
+		for (int i = 0; i < paths.length; i++) {
+			String path = paths[i].trim();
+			loaderPaths[i] = (path.endsWith("/") || path.endsWith(":") ? path : path + "/");
+			lookupPaths[i + 1] = loaderPaths[i];
+		}
+		final Charset charset = (this.charset != null ? this.charset : DEFAULT_CHARSET);
+		TemplatePreloader preloader = new TemplatePreloader(this.resourceLoader);
+		Set<String> templateNames = preloader.findTemplates(loaderPaths, this.preloadTemplateSuffix);
+		preloader.preload(templateNames, new TemplatePreloader.TemplateCallback() {
+			@Override
+			public void preload(String templateName) throws Exception {
+				for (String lookupPath : lookupPaths) {
+					Resource resource = resourceLoader.getResource(lookupPath + templateName);
+					if (resource.exists()) {
+						String template = FileCopyUtils.copyToString(
+								new InputStreamReader(resource.getInputStream(), charset));
+						templateCache.putTemplate(templateName, charset, template);
+						return;
+					}
+				}
+			}
+		});
+		this.templatePreloader = preloader;
+	}
+
 }
@@ -96,6 +96,8 @@ public class ScriptTemplateView extends AbstractUrlBasedView {
 
 	private ResourceLoader resourceLoader;
 
+	private ScriptTemplateCache templateCache;
+
 	private volatile ScriptEngineManager scriptEngineManager;
 
 
@@ -192,6 +194,15 @@ public class ScriptTemplateView extends AbstractUrlBasedView {
 		}
 	}
 
+	/**
+	 * Set the cache for template content to use, typically shared by all views.
+	 * See {@link ScriptTemplateConfigurer#setCacheTemplates(boolean)} documentation.
+	 * @since 4.3.13
+	 */
+	public void setTemplateCache(ScriptTemplateCache templateCache) {
+		this.templateCache = templateCache;
+	}
+
 
 	@Override
 	protected void initApplicationContext(ApplicationContext context) {
@@ -229,6 +240,9 @@ public class ScriptTemplateView extends AbstractUrlBasedView {
 		if (this.sharedEngine == null && viewConfig.isSharedEngine() != null) {
 			this.sharedEngine = viewConfig.isSharedEngine();
 		}
+		if (this.templateCache == null && viewConfig instanceof ScriptTemplateConfigurer) {
+			this.templateCache = ((ScriptTemplateConfigurer) viewConfig).getTemplateCache();
+		}
 
 		Assert.isTrue(!(this.engine != null && this.engineName != null),
 				"You should define either 'engine' or 'engineName', not both.");
@@ -362,12 +376,22 @@ public class ScriptTemplateView extends AbstractUrlBasedView {
 	}
 
 	protected String getTemplate(String path) throws IOException {
+		if (this.templateCache != null) {
+			String template = this.templateCache.getTemplate(path, this.charset);
+			if (template != null) {
+				return template;
+			}
+		}
 		Resource resource = getResource(path);
 		if (resource == null) {
 			throw new IllegalStateException("Template resource [" + path + "] not found");
 		}
 		InputStreamReader reader = new InputStreamReader(resource.getInputStream(), this.charset);
-		return FileCopyUtils.copyToString(reader);
+		String template = FileCopyUtils.copyToString(reader);
+		if (this.templateCache != null) {
+			this.templateCache.putTemplate(path, this.charset, template);
+		}
+		return template;
 	}
 
 
@@ -28,6 +28,7 @@ import java.util.Map;
 
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.InvalidMimeTypeException;
 import org.springframework.util.MimeType;
 import org.springframework.util.MimeTypeUtils;
@@ -49,6 +50,10 @@ public class MediaType extends MimeType implements Serializable {
 
 	private static final long serialVersionUID = 2069937152339670231L;
 
+	/** Recently parsed media types, keyed by the raw media type String */
+	private static final ConcurrentLruCache<String, MediaType> cachedMediaTypes =
+			new ConcurrentLruCache<String, MediaType>(64);
+
 	/**
 	 * Public constant media type that includes all media ranges (i.e. "&#42;/&#42;").
 	 */
@@ -439,11 +444,26 @@ public class MediaType extends MimeType implements Serializable {
 
 	/**
 	 * Parse the given String into a single {@code MediaType}.
+	 * <p>As of 4.3.13, recently parsed media types are cached, since the same
+	 * {@code Accept} and {@code Content-Type} values tend to be parsed over and over again.
 	 * @param mediaType the string to parse
 	 * @return the media type
 	 * @throws InvalidMediaTypeException if the media type value cannot be parsed
 	 */
 	public static MediaType parseMediaType(String mediaType) {
+		// Do not cache multipart media types with random boundaries
+		if (!StringUtils.hasLength(mediaType) || mediaType.startsWith("multipart")) {
+			return parseMediaTypeInternal(mediaType);
+		}
+		MediaType cached = cachedMediaTypes.get(mediaType);
+		if (cached == null) {
+			cached = parseMediaTypeInternal(mediaType);
+			cachedMediaTypes.put(mediaType, cached);
+		}
+		return cached;
+	}
+
+	private static MediaType parseMediaTypeInternal(String mediaType) {
 		MimeType type;
 		try {
 			type = MimeTypeUtils.parseMimeType(mediaType);
@@ -33,6 +33,8 @@ import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.MediaType;
 import org.springframework.http.StreamingHttpOutputMessage;
 import org.springframework.util.Assert;
+import org.springframework.util.ByteBufferPool;
+import org.springframework.util.StripedByteBufferPool;
 
 /**
  * Abstract base class for most {@link HttpMessageConverter} implementations.
@@ -55,6 +57,8 @@ public abstract class AbstractHttpMessageConverter<T> implements HttpMessageConv
 
 	private Charset defaultCharset;
 
+	private ByteBufferPool bufferPool = StripedByteBufferPool.getSharedInstance();
+
 
 	/**
 	 * Construct an {@code AbstractHttpMessageConverter} with no supported media types.
@@ -121,6 +125,25 @@ public abstract class AbstractHttpMessageConverter<T> implements HttpMessageConv
 		return this.defaultCharset;
 	}
 
+	/**
+	 * Set the pool to obtain temporary buffers from when encoding and
+	 * copying content to an output message.
+	 * <p>The default is the {@link StripedByteBufferPool#getSharedInstance() shared pool}.
+	 * @since 4.3.13
+	 */
+	public void setBufferPool(ByteBufferPool bufferPool) {
+		Assert.notNull(bufferPool, "ByteBufferPool must not be null");
+		this.bufferPool = bufferPool;
+	}
+
+	/**
+	 * Return the pool to obtain temporary buffers from.
+	 * @since 4.3.13
+	 */
+	public ByteBufferPool getBufferPool() {
+		return this.bufferPool;
+	}
+
 
 	/**
 	 * This implementation checks if the given class is {@linkplain #supports(Class) supported},
@@ -37,11 +37,13 @@ import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.MediaType;
 import org.springframework.http.StreamingHttpOutputMessage;
 import org.springframework.util.Assert;
+import org.springframework.util.ByteBufferPool;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MimeTypeUtils;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StreamUtils;
 import org.springframework.util.StringUtils;
+import org.springframework.util.StripedByteBufferPool;
 
 /**
  * Implementation of {@link HttpMessageConverter} to read and write 'normal' HTML
@@ -99,6 +101,8 @@ public class FormHttpMessageConverter implements HttpMessageConverter<MultiValue
 
 	private Charset multipartCharset;
 
+	private ByteBufferPool bufferPool = StripedByteBufferPool.getSharedInstance();
+
 
 	public FormHttpMessageConverter() {
 		this.supportedMediaTypes.add(MediaType.APPLICATION_FORM_URLENCODED);
@@ -186,6 +190,16 @@ public class FormHttpMessageConverter implements HttpMessageConverter<MultiValue
 		this.multipartCharset = charset;
 	}
 
+	/**
+	 * Set the pool to obtain temporary buffers from when encoding form content.
+	 * <p>The default is the {@link StripedByteBufferPool#getSharedInstance() shared pool}.
+	 * @since 4.3.13
+	 */
+	public void setBufferPool(ByteBufferPool bufferPool) {
+		Assert.notNull(bufferPool, "ByteBufferPool must not be null");
+		this.bufferPool = bufferPool;
+	}
+
 
 	@Override
 	public boolean canRead(Class<?> clazz, MediaType mediaType) {
@@ -302,20 +316,22 @@ public class FormHttpMessageConverter implements HttpMessageConverter<MultiValue
 				builder.append('&');
 			}
 		}
-		final byte[] bytes = builder.toString().getBytes(charset.name());
-		outputMessage.getHeaders().setContentLength(bytes.length);
+		final String body = builder.toString();
+		final Charset bodyCharset = charset;
+		final ByteBufferPool bufferPool = this.bufferPool;
+		outputMessage.getHeaders().setContentLength(StringHttpMessageConverter.getByteCount(body, bodyCharset));
 
 		if (outputMessage instanceof StreamingHttpOutputMessage) {
 			StreamingHttpOutputMessage streamingOutputMessage = (StreamingHttpOutputMessage) outputMessage;
 			streamingOutputMessage.setBody(new StreamingHttpOutputMessage.Body() {
 				@Override
 				public void writeTo(OutputStream outputStream) throws IOException {
-					StreamUtils.copy(bytes, outputStream);
+					StreamUtils.copy(body, bodyCharset, outputStream, bufferPool);
 				}
 			});
 		}
 		else {
-			StreamUtils.copy(bytes, outputMessage.getBody());
+			StreamUtils.copy(body, bodyCharset, outputMessage.getBody(), bufferPool);
 		}
 	}
 
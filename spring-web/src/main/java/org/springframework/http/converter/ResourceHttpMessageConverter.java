@@ -16,6 +16,7 @@
 
 package org.springframework.http.converter;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -37,6 +38,10 @@ import org.springframework.util.StreamUtils;
  * if available - is used to determine the {@code Content-Type} of written resources.
  * If JAF is not available, {@code application/octet-stream} is used.
  *
+ * <p>As of 4.3.13, the content of a plain {@link org.springframework.core.io.FileSystemResource}
+ * or {@link org.springframework.core.io.PathResource} is written through a
+ * {@link java.nio.channels.FileChannel} with a large buffer.
+ *
  * @author Arjen Poutsma
  * @author Juergen Hoeller
  * @author Kazuki Shimizu
@@ -105,9 +110,14 @@ public class ResourceHttpMessageConverter extends AbstractHttpMessageConverter<R
 	protected void writeContent(Resource resource, HttpOutputMessage outputMessage)
 			throws IOException, HttpMessageNotWritableException {
 		try {
+			File file = FileChannelResourceWriter.getFile(resource);
+			if (file != null) {
+				FileChannelResourceWriter.copyRange(file, outputMessage.getBody(), 0, Long.MAX_VALUE);
+				return;
+			}
 			InputStream in = resource.getInputStream();
 			try {
-				StreamUtils.copy(in, outputMessage.getBody());
+				StreamUtils.copy(in, outputMessage.getBody(), getBufferPool());
 			}
 			catch (NullPointerException ex) {
 				// ignore, see SPR-13620
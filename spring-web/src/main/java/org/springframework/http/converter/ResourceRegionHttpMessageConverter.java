@@ -16,6 +16,7 @@
 
 package org.springframework.http.converter;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -37,6 +38,10 @@ import org.springframework.util.StreamUtils;
  * Implementation of {@link HttpMessageConverter} that can write a single {@link ResourceRegion},
  * or Collections of {@link ResourceRegion ResourceRegions}.
  *
+ * <p>As of 4.3.13, regions of a plain {@link org.springframework.core.io.FileSystemResource}
+ * or {@link org.springframework.core.io.PathResource} are written through a
+ * {@link java.nio.channels.FileChannel} with a large buffer.
+ *
  * @author Brian Clozel
  * @author Juergen Hoeller
  * @since 4.3
@@ -153,6 +158,11 @@ public class ResourceRegionHttpMessageConverter extends AbstractGenericHttpMessa
 		responseHeaders.add("Content-Range", "bytes " + start + '-' + end + '/' + resourceLength);
 		responseHeaders.setContentLength(rangeLength);
 
+		File file = FileChannelResourceWriter.getFile(region.getResource());
+		if (file != null) {
+			FileChannelResourceWriter.copyRange(file, outputMessage.getBody(), start, end);
+			return;
+		}
 		InputStream in = region.getResource().getInputStream();
 		try {
 			StreamUtils.copyRange(in, outputMessage.getBody(), start, end);
@@ -181,7 +191,8 @@ public class ResourceRegionHttpMessageConverter extends AbstractGenericHttpMessa
 		for (ResourceRegion region : resourceRegions) {
 			long start = region.getPosition();
 			long end = start + region.getCount() - 1;
-			InputStream in = region.getResource().getInputStream();
+			File file = FileChannelResourceWriter.getFile(region.getResource());
+			InputStream in = (file == null ? region.getResource().getInputStream() : null);
 			try {
 				// Writing MIME header.
 				println(out);
@@ -197,14 +208,21 @@ public class ResourceRegionHttpMessageConverter extends AbstractGenericHttpMessa
 				println(out);
 				println(out);
 				// Printing content
-				StreamUtils.copyRange(in, out, start, end);
+				if (file != null) {
+					FileChannelResourceWriter.copyRange(file, out, start, end);
+				}
+				else {
+					StreamUtils.copyRange(in, out, start, end);
+				}
 			}
 			finally {
-				try {
-					in.close();
-				}
-				catch (IOException ex) {
-					// ignore
+				if (in != null) {
+					try {
+						in.close();
+					}
+					catch (IOException ex) {
+						// ignore
+					}
 				}
 			}
 		}
@@ -42,6 +42,10 @@ public class StringHttpMessageConverter extends AbstractHttpMessageConverter<Str
 
 	public static final Charset DEFAULT_CHARSET = Charset.forName("ISO-8859-1");
 
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final Charset US_ASCII = Charset.forName("US-ASCII");
+
 
 	private volatile List<Charset> availableCharsets;
 
@@ -89,7 +93,7 @@ public class StringHttpMessageConverter extends AbstractHttpMessageConverter<Str
 	protected Long getContentLength(String str, MediaType contentType) {
 		Charset charset = getContentTypeCharset(contentType);
 		try {
-			return (long) str.getBytes(charset.name()).length;
+			return getByteCount(str, charset);
 		}
 		catch (UnsupportedEncodingException ex) {
 			// should not occur
@@ -103,7 +107,7 @@ public class StringHttpMessageConverter extends AbstractHttpMessageConverter<Str
 			outputMessage.getHeaders().setAcceptCharset(getAcceptedCharsets());
 		}
 		Charset charset = getContentTypeCharset(outputMessage.getHeaders().getContentType());
-		StreamUtils.copy(str, charset, outputMessage.getBody());
+		StreamUtils.copy(str, charset, outputMessage.getBody(), getBufferPool());
 	}
 
 
@@ -121,6 +125,44 @@ public class StringHttpMessageConverter extends AbstractHttpMessageConverter<Str
 		return this.availableCharsets;
 	}
 
+	/**
+	 * Determine the number of bytes of the given String in the given charset,
+	 * counting rather than encoding for UTF-8 and single-byte Latin charsets.
+	 */
+	static long getByteCount(String str, Charset charset) throws UnsupportedEncodingException {
+		if (UTF_8.equals(charset)) {
+			long count = 0;
+			int length = str.length();
+			for (int i = 0; i < length; i++) {
+				char ch = str.charAt(i);
+				if (ch < 0x80) {
+					count++;
+				}
+				else if (ch < 0x800) {
+					count += 2;
+				}
+				else if (Character.isHighSurrogate(ch) && i + 1 < length &&
+						Character.isLowSurrogate(str.charAt(i + 1))) {
+					count += 4;
+					i++;
+				}
+				else if (Character.isHighSurrogate(ch) || Character.isLowSurrogate(ch)) {
+					// Malformed: encoded as a single replacement byte
+					count++;
+				}
+				else {
+					count += 3;
+				}
+			}
+			return count;
+		}
+		else if (DEFAULT_CHARSET.equals(charset) || US_ASCII.equals(charset)) {
+			// Unmappable code points are encoded as a single replacement byte
+			return str.codePointCount(0, str.length());
+		}
+		return str.getBytes(charset.name()).length;
+	}
+
 	private Charset getContentTypeCharset(MediaType contentType) {
 		if (contentType != null && contentType.getCharset() != null) {
 			return contentType.getCharset();
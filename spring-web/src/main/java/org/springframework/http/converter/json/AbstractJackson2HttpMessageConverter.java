@@ -16,12 +16,17 @@
 
 package org.springframework.http.converter.json;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -32,6 +37,7 @@ import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -46,8 +52,16 @@ import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.UsesJava8;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.TypeUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 
 /**
  * Abstract base class for Jackson based and content type independent
@@ -55,6 +69,12 @@ import org.springframework.util.TypeUtils;
  *
  * <p>Compatible with Jackson 2.6 and higher, as of Spring 4.3.
  *
+ * <p>As of Spring 4.3.13, the {@link ObjectWriter} and {@link ObjectReader}
+ * instances derived from the {@code ObjectMapper} for a given target type,
+ * JSON view and filter provider are cached. The {@code ObjectMapper} should
+ * therefore be fully configured before the converter is first used; setting
+ * a new {@code ObjectMapper} resets the cache.
+ *
  * @author Arjen Poutsma
  * @author Keith Donald
  * @author Rossen Stoyanchev
@@ -66,8 +86,23 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 
 	public static final Charset DEFAULT_CHARSET = Charset.forName("UTF-8");
 
+	/**
+	 * The default number of bytes written between flushes in streaming mode: 64 KB.
+	 * @since 4.3.13
+	 * @see #setStreamingFlushSize
+	 */
+	public static final int DEFAULT_STREAMING_FLUSH_SIZE = 64 * 1024;
+
 	private static final MediaType TEXT_EVENT_STREAM = new MediaType("text", "event-stream");
 
+	/** Java 8's java.util.stream.Stream class available? */
+	private static final boolean streamAvailable = ClassUtils.isPresent(
+			"java.util.stream.Stream", AbstractJackson2HttpMessageConverter.class.getClassLoader());
+
+	/** Servlet API available, i.e. possibly writing within a Servlet request? */
+	private static final boolean servletPresent = ClassUtils.isPresent(
+			"javax.servlet.ServletRequest", AbstractJackson2HttpMessageConverter.class.getClassLoader());
+
 
 	protected ObjectMapper objectMapper;
 
@@ -75,6 +110,16 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 
 	private PrettyPrinter ssePrettyPrinter;
 
+	private boolean streaming = false;
+
+	private int streamingFlushSize = DEFAULT_STREAMING_FLUSH_SIZE;
+
+	private final Map<CacheKey, ObjectWriter> objectWriterCache =
+			new ConcurrentReferenceHashMap<CacheKey, ObjectWriter>(64);
+
+	private final Map<CacheKey, ObjectReader> objectReaderCache =
+			new ConcurrentReferenceHashMap<CacheKey, ObjectReader>(64);
+
 
 	protected AbstractJackson2HttpMessageConverter(ObjectMapper objectMapper) {
 		init(objectMapper);
@@ -96,6 +141,7 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 		DefaultPrettyPrinter prettyPrinter = new DefaultPrettyPrinter();
 		prettyPrinter.indentObjectsWith(new DefaultIndenter("  ", "\ndata:"));
 		this.ssePrettyPrinter = prettyPrinter;
+		clearCaches();
 	}
 
 
@@ -114,6 +160,7 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 		Assert.notNull(objectMapper, "ObjectMapper must not be null");
 		this.objectMapper = objectMapper;
 		configurePrettyPrint();
+		clearCaches();
 	}
 
 	/**
@@ -135,6 +182,53 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 	public void setPrettyPrint(boolean prettyPrint) {
 		this.prettyPrint = prettyPrint;
 		configurePrettyPrint();
+		clearCaches();
+	}
+
+	/**
+	 * Whether to write JSON in streaming mode, bounding the memory used for
+	 * large payloads.
+	 * <p>In streaming mode, response content caching is disabled for the current
+	 * request through {@link ShallowEtagHeaderFilter#disableContentCaching}, so
+	 * that the body is written through to the client, and the body is
+	 * flushed every {@link #setStreamingFlushSize "streamingFlushSize"} bytes.
+	 * Content is encoded through Jackson's recycled, fixed-size generator buffer,
+	 * so no more than that buffer is held in memory for the body. Furthermore,
+	 * {@link Iterator} and Java 8 {@code java.util.stream.Stream} values are
+	 * written as a JSON array, one element at a time, without being collected first.
+	 * <p>The default is "false". Note that no ETag will be calculated for content
+	 * written in streaming mode.
+	 * @since 4.3.13
+	 */
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	/**
+	 * Return whether JSON is written in streaming mode.
+	 * @since 4.3.13
+	 */
+	public boolean isStreaming() {
+		return this.streaming;
+	}
+
+	/**
+	 * Set the number of bytes to write between flushes of the response
+	 * in {@link #setStreaming streaming mode}.
+	 * <p>The default is {@link #DEFAULT_STREAMING_FLUSH_SIZE}.
+	 * @since 4.3.13
+	 */
+	public void setStreamingFlushSize(int streamingFlushSize) {
+		Assert.isTrue(streamingFlushSize > 0, "Streaming flush size must be greater than 0");
+		this.streamingFlushSize = streamingFlushSize;
+	}
+
+	/**
+	 * Return the number of bytes to write between flushes in streaming mode.
+	 * @since 4.3.13
+	 */
+	public int getStreamingFlushSize() {
+		return this.streamingFlushSize;
 	}
 
 	private void configurePrettyPrint() {
@@ -143,6 +237,11 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 		}
 	}
 
+	private void clearCaches() {
+		this.objectWriterCache.clear();
+		this.objectReaderCache.clear();
+	}
+
 
 	@Override
 	public boolean canRead(Class<?> clazz, MediaType mediaType) {
@@ -225,14 +324,11 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 
 	private Object readJavaType(JavaType javaType, HttpInputMessage inputMessage) {
 		try {
+			Class<?> deserializationView = null;
 			if (inputMessage instanceof MappingJacksonInputMessage) {
-				Class<?> deserializationView = ((MappingJacksonInputMessage) inputMessage).getDeserializationView();
-				if (deserializationView != null) {
-					return this.objectMapper.readerWithView(deserializationView).forType(javaType).
-							readValue(inputMessage.getBody());
-				}
+				deserializationView = ((MappingJacksonInputMessage) inputMessage).getDeserializationView();
 			}
-			return this.objectMapper.readValue(inputMessage.getBody(), javaType);
+			return getObjectReader(javaType, deserializationView).readValue(inputMessage.getBody());
 		}
 		catch (JsonProcessingException ex) {
 			throw new HttpMessageNotReadableException("JSON parse error: " + ex.getOriginalMessage(), ex);
@@ -248,7 +344,8 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 
 		MediaType contentType = outputMessage.getHeaders().getContentType();
 		JsonEncoding encoding = getJsonEncoding(contentType);
-		JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputMessage.getBody(), encoding);
+		OutputStream body = (this.streaming ? getStreamingBody(outputMessage) : outputMessage.getBody());
+		JsonGenerator generator = this.objectMapper.getFactory().createGenerator(body, encoding);
 		try {
 			writePrefix(generator, object);
 
@@ -265,25 +362,14 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 			if (type != null && value != null && TypeUtils.isAssignable(type, value.getClass())) {
 				javaType = getJavaType(type, null);
 			}
-			ObjectWriter objectWriter;
-			if (serializationView != null) {
-				objectWriter = this.objectMapper.writerWithView(serializationView);
-			}
-			else if (filters != null) {
-				objectWriter = this.objectMapper.writer(filters);
+			ObjectWriter objectWriter = getObjectWriter(javaType, serializationView, filters, contentType);
+			Iterator<?> elements = (this.streaming ? getElementIterator(value) : null);
+			if (elements != null) {
+				writeElements(generator, objectWriter, javaType, elements, value);
 			}
 			else {
-				objectWriter = this.objectMapper.writer();
-			}
-			if (javaType != null && javaType.isContainerType()) {
-				objectWriter = objectWriter.forType(javaType);
-			}
-			SerializationConfig config = objectWriter.getConfig();
-			if (contentType != null && contentType.isCompatibleWith(TEXT_EVENT_STREAM) &&
-					config.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
-				objectWriter = objectWriter.with(this.ssePrettyPrinter);
+				objectWriter.writeValue(generator, value);
 			}
-			objectWriter.writeValue(generator, value);
 
 			writeSuffix(generator, object);
 			generator.flush();
@@ -294,6 +380,113 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 		}
 	}
 
+	/**
+	 * Return the cached {@link ObjectReader} for the given target type and
+	 * deserialization view, creating it if necessary.
+	 */
+	private ObjectReader getObjectReader(JavaType javaType, Class<?> deserializationView) {
+		CacheKey cacheKey = new CacheKey(javaType, deserializationView, false);
+		ObjectReader objectReader = this.objectReaderCache.get(cacheKey);
+		if (objectReader == null) {
+			if (deserializationView != null) {
+				objectReader = this.objectMapper.readerWithView(deserializationView).forType(javaType);
+			}
+			else {
+				objectReader = this.objectMapper.readerFor(javaType);
+			}
+			this.objectReaderCache.put(cacheKey, objectReader);
+		}
+		return objectReader;
+	}
+
+	/**
+	 * Return the cached {@link ObjectWriter} for the given target type,
+	 * serialization view and content type, creating it if necessary.
+	 * <p>Writers with filters are not cached, since a {@link FilterProvider}
+	 * is typically created per value and cannot be compared for equality.
+	 */
+	private ObjectWriter getObjectWriter(JavaType javaType, Class<?> serializationView,
+			FilterProvider filters, MediaType contentType) {
+
+		// Only container types are written as the declared type, and a view takes precedence over filters
+		JavaType writerType = (javaType != null && javaType.isContainerType() ? javaType : null);
+		FilterProvider writerFilters = (serializationView == null ? filters : null);
+		boolean eventStream = (contentType != null && contentType.isCompatibleWith(TEXT_EVENT_STREAM));
+		if (writerFilters != null) {
+			return configureObjectWriter(this.objectMapper.writer(writerFilters), writerType, eventStream);
+		}
+		CacheKey cacheKey = new CacheKey(writerType, serializationView, eventStream);
+		ObjectWriter objectWriter = this.objectWriterCache.get(cacheKey);
+		if (objectWriter == null) {
+			objectWriter = (serializationView != null ?
+					this.objectMapper.writerWithView(serializationView) : this.objectMapper.writer());
+			objectWriter = configureObjectWriter(objectWriter, writerType, eventStream);
+			this.objectWriterCache.put(cacheKey, objectWriter);
+		}
+		return objectWriter;
+	}
+
+	private ObjectWriter configureObjectWriter(ObjectWriter objectWriter, JavaType writerType, boolean eventStream) {
+		if (writerType != null) {
+			objectWriter = objectWriter.forType(writerType);
+		}
+		SerializationConfig config = objectWriter.getConfig();
+		if (eventStream && config.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
+			objectWriter = objectWriter.with(this.ssePrettyPrinter);
+		}
+		return objectWriter;
+	}
+
+	/**
+	 * Return the body to write to in streaming mode, flushed in chunks,
+	 * after disabling response content caching for the current request.
+	 */
+	private OutputStream getStreamingBody(HttpOutputMessage outputMessage) throws IOException {
+		if (servletPresent) {
+			ServletRequestDelegate.disableContentCaching();
+		}
+		return new ChunkedFlushOutputStream(outputMessage.getBody(), this.streamingFlushSize);
+	}
+
+	/**
+	 * Return an iterator over the elements to write one by one,
+	 * or {@code null} if the given value is to be written as a whole.
+	 */
+	private Iterator<?> getElementIterator(Object value) {
+		if (value instanceof Iterator) {
+			return (Iterator<?>) value;
+		}
+		if (streamAvailable && StreamDelegate.isStream(value)) {
+			return StreamDelegate.iterator(value);
+		}
+		return null;
+	}
+
+	private void writeElements(JsonGenerator generator, ObjectWriter objectWriter, JavaType javaType,
+			Iterator<?> elements, Object value) throws IOException {
+
+		ObjectWriter elementWriter = objectWriter.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		JavaType elementType = (javaType != null ? javaType.containedType(0) : null);
+		if (elementType != null && elementType.isContainerType()) {
+			elementWriter = elementWriter.forType(elementType);
+		}
+		if (generator.getPrettyPrinter() == null && elementWriter.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
+			generator.useDefaultPrettyPrinter();
+		}
+		try {
+			generator.writeStartArray();
+			while (elements.hasNext()) {
+				elementWriter.writeValue(generator, elements.next());
+			}
+			generator.writeEndArray();
+		}
+		finally {
+			if (streamAvailable && StreamDelegate.isStream(value)) {
+				StreamDelegate.close(value);
+			}
+		}
+	}
+
 	/**
 	 * Write a prefix before the main content.
 	 * @param generator the generator to use for writing content.
@@ -425,4 +618,130 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 		return super.getContentLength(object, contentType);
 	}
 
+
+	/**
+	 * Key for the {@link ObjectWriter} and {@link ObjectReader} caches.
+	 */
+	private static final class CacheKey {
+
+		private final JavaType javaType;
+
+		private final Class<?> view;
+
+		private final boolean eventStream;
+
+		public CacheKey(JavaType javaType, Class<?> view, boolean eventStream) {
+			this.javaType = javaType;
+			this.view = view;
+			this.eventStream = eventStream;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey otherKey = (CacheKey) other;
+			return (ObjectUtils.nullSafeEquals(this.javaType, otherKey.javaType) &&
+					this.view == otherKey.view && this.eventStream == otherKey.eventStream);
+		}
+
+		@Override
+		public int hashCode() {
+			int hashCode = ObjectUtils.nullSafeHashCode(this.javaType);
+			hashCode = 29 * hashCode + ObjectUtils.nullSafeHashCode(this.view);
+			hashCode = 29 * hashCode + (this.eventStream ? 1 : 0);
+			return hashCode;
+		}
+	}
+
+
+	/**
+	 * OutputStream decorator that flushes the target stream every given number
+	 * of bytes, in order to write out large bodies in chunks.
+	 */
+	private static class ChunkedFlushOutputStream extends FilterOutputStream {
+
+		private final int flushSize;
+
+		private int unflushed;
+
+		public ChunkedFlushOutputStream(OutputStream out, int flushSize) {
+			super(out);
+			this.flushSize = flushSize;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			this.out.write(b);
+			written(1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			this.out.write(b, off, len);
+			written(len);
+		}
+
+		private void written(int count) throws IOException {
+			this.unflushed += count;
+			if (this.unflushed >= this.flushSize) {
+				flush();
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			this.unflushed = 0;
+			this.out.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			// The response stream is closed by the container
+			flush();
+		}
+	}
+
+
+	/**
+	 * Inner class to avoid a hard-coded dependency on the Servlet API.
+	 */
+	private static class ServletRequestDelegate {
+
+		/**
+		 * Disable response content caching for the current Servlet request, if any,
+		 * so that a {@link ShallowEtagHeaderFilter} writes the body through.
+		 */
+		public static void disableContentCaching() {
+			RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+			if (attributes instanceof ServletRequestAttributes) {
+				ShallowEtagHeaderFilter.disableContentCaching(((ServletRequestAttributes) attributes).getRequest());
+			}
+		}
+	}
+
+
+	/**
+	 * Inner class to avoid a hard-coded dependency on Java 8's {@link Stream}.
+	 */
+	@UsesJava8
+	private static class StreamDelegate {
+
+		public static boolean isStream(Object value) {
+			return (value instanceof Stream);
+		}
+
+		public static Iterator<?> iterator(Object stream) {
+			return ((Stream<?>) stream).iterator();
+		}
+
+		public static void close(Object stream) {
+			((Stream<?>) stream).close();
+		}
+	}
+
 }
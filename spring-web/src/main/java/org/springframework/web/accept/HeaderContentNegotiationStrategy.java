@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import java.util.List;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.context.request.NativeWebRequest;
 
@@ -35,8 +36,15 @@ import org.springframework.web.context.request.NativeWebRequest;
  */
 public class HeaderContentNegotiationStrategy implements ContentNegotiationStrategy {
 
+	/** Sorted media types for recently seen 'Accept' header values */
+	private final ConcurrentLruCache<String, List<MediaType>> sortedMediaTypes =
+			new ConcurrentLruCache<String, List<MediaType>>(64);
+
+
 	/**
 	 * {@inheritDoc}
+	 * <p>As of 4.3.13, the sorted media types for a single 'Accept' header value
+	 * are cached and shared, and returned as an unmodifiable list.
 	 * @throws HttpMediaTypeNotAcceptableException if the 'Accept' header cannot be parsed
 	 */
 	@Override
@@ -48,7 +56,18 @@ public class HeaderContentNegotiationStrategy implements ContentNegotiationStrat
 			return Collections.<MediaType>emptyList();
 		}
 
-		List<String> headerValues = Arrays.asList(headerValueArray);
+		if (headerValueArray.length == 1 && headerValueArray[0] != null) {
+			List<MediaType> mediaTypes = this.sortedMediaTypes.get(headerValueArray[0]);
+			if (mediaTypes == null) {
+				mediaTypes = Collections.unmodifiableList(parseMediaTypes(Arrays.asList(headerValueArray)));
+				this.sortedMediaTypes.put(headerValueArray[0], mediaTypes);
+			}
+			return mediaTypes;
+		}
+		return parseMediaTypes(Arrays.asList(headerValueArray));
+	}
+
+	private List<MediaType> parseMediaTypes(List<String> headerValues) throws HttpMediaTypeNotAcceptableException {
 		try {
 			List<MediaType> mediaTypes = MediaType.parseMediaTypes(headerValues);
 			MediaType.sortBySpecificityAndQuality(mediaTypes);
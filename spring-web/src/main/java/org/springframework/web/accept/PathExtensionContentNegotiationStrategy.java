@@ -117,7 +117,7 @@ public class PathExtensionContentNegotiationStrategy extends AbstractMappingCont
 			logger.warn("An HttpServletRequest is required to determine the media type key");
 			return null;
 		}
-		String path = this.urlPathHelper.getLookupPathForRequest(request);
+		String path = this.urlPathHelper.getRequestPath(request).getLookupPath();
 		String extension = UriUtils.extractFileExtension(path);
 		return (StringUtils.hasText(extension) ? extension.toLowerCase(Locale.ENGLISH) : null);
 	}
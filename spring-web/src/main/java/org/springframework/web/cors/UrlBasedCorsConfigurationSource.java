@@ -122,7 +122,7 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 
 	@Override
 	public CorsConfiguration getCorsConfiguration(HttpServletRequest request) {
-		String lookupPath = this.urlPathHelper.getLookupPathForRequest(request);
+		String lookupPath = this.urlPathHelper.getRequestPath(request).getLookupPath();
 		for (Map.Entry<String, CorsConfiguration> entry : this.corsConfigurations.entrySet()) {
 			if (this.pathMatcher.match(entry.getKey(), lookupPath)) {
 				return entry.getValue();
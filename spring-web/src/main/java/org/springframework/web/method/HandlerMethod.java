@@ -25,13 +25,18 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.core.BridgeMethodResolver;
 import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.MethodAccessor;
+import org.springframework.core.MethodAccessorFactory;
 import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.SynthesizingMethodParameter;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolverComposite;
 
 /**
  * Encapsulates information about a handler method consisting of a
@@ -73,6 +78,8 @@ public class HandlerMethod {
 
 	private HandlerMethod resolvedFromHandlerMethod;
 
+	private final SharedState sharedState;
+
 
 	/**
 	 * Create an instance from a bean instance and a method.
@@ -86,6 +93,7 @@ public class HandlerMethod {
 		this.method = method;
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(method);
 		this.parameters = initMethodParameters();
+		this.sharedState = new SharedState();
 		evaluateResponseStatus();
 	}
 
@@ -102,6 +110,7 @@ public class HandlerMethod {
 		this.method = bean.getClass().getMethod(methodName, parameterTypes);
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(this.method);
 		this.parameters = initMethodParameters();
+		this.sharedState = new SharedState();
 		evaluateResponseStatus();
 	}
 
@@ -120,6 +129,7 @@ public class HandlerMethod {
 		this.method = method;
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(method);
 		this.parameters = initMethodParameters();
+		this.sharedState = new SharedState();
 		evaluateResponseStatus();
 	}
 
@@ -137,6 +147,7 @@ public class HandlerMethod {
 		this.responseStatus = handlerMethod.responseStatus;
 		this.responseStatusReason = handlerMethod.responseStatusReason;
 		this.resolvedFromHandlerMethod = handlerMethod.resolvedFromHandlerMethod;
+		this.sharedState = handlerMethod.sharedState;
 	}
 
 	/**
@@ -154,6 +165,7 @@ public class HandlerMethod {
 		this.responseStatus = handlerMethod.responseStatus;
 		this.responseStatusReason = handlerMethod.responseStatusReason;
 		this.resolvedFromHandlerMethod = handlerMethod;
+		this.sharedState = handlerMethod.sharedState;
 	}
 
 
@@ -288,6 +300,45 @@ public class HandlerMethod {
 		return this.resolvedFromHandlerMethod;
 	}
 
+	/**
+	 * Return the {@link MethodAccessor} for the bridged method, created on first
+	 * use and shared with all copies of this {@code HandlerMethod}, including those
+	 * created through {@link #createWithResolvedBean()} and the copy constructor.
+	 * @since 4.3.13
+	 */
+	protected final MethodAccessor getMethodAccessor() {
+		MethodAccessor methodAccessor = this.sharedState.methodAccessor;
+		if (methodAccessor == null) {
+			methodAccessor = MethodAccessorFactory.getMethodAccessor(this.bridgedMethod);
+			this.sharedState.methodAccessor = methodAccessor;
+		}
+		return methodAccessor;
+	}
+
+	/**
+	 * Return the argument resolver that the given composite selects for each
+	 * method parameter, binding them and initializing parameter name discovery
+	 * on first use. The binding is shared with all copies of this
+	 * {@code HandlerMethod}, and bound again if called with a different
+	 * composite or {@code ParameterNameDiscoverer}.
+	 * @param argumentResolvers the composite to select resolvers from
+	 * @param parameterNameDiscoverer the discoverer for parameter names
+	 * @return the resolvers in the order of {@link #getMethodParameters()}, with
+	 * {@code null} for a parameter that no resolver supports (never to be modified)
+	 * @since 4.3.13
+	 */
+	protected final HandlerMethodArgumentResolver[] getBoundArgumentResolvers(
+			HandlerMethodArgumentResolverComposite argumentResolvers, ParameterNameDiscoverer parameterNameDiscoverer) {
+
+		ArgumentResolverBinding binding = this.sharedState.argumentResolverBinding;
+		if (binding == null || binding.argumentResolvers != argumentResolvers ||
+				binding.parameterNameDiscoverer != parameterNameDiscoverer) {
+			binding = new ArgumentResolverBinding(this.parameters, argumentResolvers, parameterNameDiscoverer);
+			this.sharedState.argumentResolverBinding = binding;
+		}
+		return binding.resolvers;
+	}
+
 	/**
 	 * If the provided instance contains a bean name rather than an object instance,
 	 * the bean name is resolved before a {@link HandlerMethod} is created and returned.
@@ -334,6 +385,42 @@ public class HandlerMethod {
 	}
 
 
+	/**
+	 * Holder for invocation state shared by a HandlerMethod and all of its copies.
+	 */
+	static final class SharedState {
+
+		volatile MethodAccessor methodAccessor;
+
+		volatile ArgumentResolverBinding argumentResolverBinding;
+	}
+
+
+	/**
+	 * The argument resolvers bound to the parameters of a HandlerMethod.
+	 */
+	private static final class ArgumentResolverBinding {
+
+		private final HandlerMethodArgumentResolverComposite argumentResolvers;
+
+		private final ParameterNameDiscoverer parameterNameDiscoverer;
+
+		private final HandlerMethodArgumentResolver[] resolvers;
+
+		public ArgumentResolverBinding(MethodParameter[] parameters,
+				HandlerMethodArgumentResolverComposite argumentResolvers, ParameterNameDiscoverer parameterNameDiscoverer) {
+
+			this.argumentResolvers = argumentResolvers;
+			this.parameterNameDiscoverer = parameterNameDiscoverer;
+			this.resolvers = new HandlerMethodArgumentResolver[parameters.length];
+			for (int i = 0; i < parameters.length; i++) {
+				parameters[i].initParameterNameDiscovery(parameterNameDiscoverer);
+				this.resolvers[i] = argumentResolvers.getArgumentResolver(parameters[i]);
+			}
+		}
+	}
+
+
 	/**
 	 * A MethodParameter with HandlerMethod-specific behavior.
 	 */
@@ -24,7 +24,6 @@ import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.util.ClassUtils;
-import org.springframework.util.ReflectionUtils;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.support.SessionStatus;
 import org.springframework.web.bind.support.WebDataBinderFactory;
@@ -144,6 +143,13 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	private Object[] getMethodArgumentValues(NativeWebRequest request, ModelAndViewContainer mavContainer,
 			Object... providedArgs) throws Exception {
 
+		// A composite subclass may customize how resolvers are selected
+		if (this.argumentResolvers.getClass() == HandlerMethodArgumentResolverComposite.class) {
+			HandlerMethodArgumentResolver[] resolvers =
+					getBoundArgumentResolvers(this.argumentResolvers, this.parameterNameDiscoverer);
+			return getMethodArgumentValues(resolvers, request, mavContainer, providedArgs);
+		}
+
 		MethodParameter[] parameters = getMethodParameters();
 		Object[] args = new Object[parameters.length];
 		for (int i = 0; i < parameters.length; i++) {
@@ -175,6 +181,41 @@ public class InvocableHandlerMethod extends HandlerMethod {
 		return args;
 	}
 
+	/**
+	 * Variant of {@link #getMethodArgumentValues(NativeWebRequest, ModelAndViewContainer, Object...)}
+	 * that uses the argument resolvers bound to each parameter.
+	 * @see #getBoundArgumentResolvers
+	 */
+	private Object[] getMethodArgumentValues(HandlerMethodArgumentResolver[] resolvers, NativeWebRequest request,
+			ModelAndViewContainer mavContainer, Object... providedArgs) throws Exception {
+
+		MethodParameter[] parameters = getMethodParameters();
+		Object[] args = new Object[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			MethodParameter parameter = parameters[i];
+			args[i] = resolveProvidedArgument(parameter, providedArgs);
+			if (args[i] != null) {
+				continue;
+			}
+			if (resolvers[i] != null) {
+				try {
+					args[i] = resolvers[i].resolveArgument(parameter, mavContainer, request, this.dataBinderFactory);
+					continue;
+				}
+				catch (Exception ex) {
+					if (logger.isDebugEnabled()) {
+						logger.debug(getArgumentResolutionErrorMessage("Failed to resolve", i), ex);
+					}
+					throw ex;
+				}
+			}
+			throw new IllegalStateException("Could not resolve method parameter at index " +
+					parameter.getParameterIndex() + " in " + parameter.getMethod().toGenericString() +
+					": " + getArgumentResolutionErrorMessage("No suitable resolver for", i));
+		}
+		return args;
+	}
+
 	private String getArgumentResolutionErrorMessage(String text, int index) {
 		Class<?> paramType = getMethodParameters()[index].getParameterType();
 		return text + " argument " + index + " of type '" + paramType.getName() + "'";
@@ -200,9 +241,8 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	 * Invoke the handler method with the given argument values.
 	 */
 	protected Object doInvoke(Object... args) throws Exception {
-		ReflectionUtils.makeAccessible(getBridgedMethod());
 		try {
-			return getBridgedMethod().invoke(getBean(), args);
+			return getMethodAccessor().invoke(getBean(), args);
 		}
 		catch (IllegalArgumentException ex) {
 			assertTargetBean(getBridgedMethod(), getBean(), args);
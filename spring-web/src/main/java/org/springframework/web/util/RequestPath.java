@@ -0,0 +1,204 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.Assert;
+import org.springframework.util.PathPattern;
+
+/**
+ * The mapping lookup path of a request, as resolved once per request by
+ * {@link UrlPathHelper#getRequestPath} and shared by all components that
+ * match against it (handler mappings, interceptors, CORS configuration
+ * sources and resource URL resolution).
+ *
+ * <p>Path segments are exposed as offsets into the lookup path rather than
+ * as separate Strings; a segment String is only created when asked for via
+ * {@link #getSegment(int)}.
+ *
+ * @since 4.3.13
+ * @see UrlPathHelper#getRequestPath
+ */
+public final class RequestPath {
+
+	private static final int[] NO_OFFSETS = new int[0];
+
+
+	private final String lookupPath;
+
+	/** Start and end offset of each non-empty segment, in pairs */
+	private final int[] segmentOffsets;
+
+	/** The resolution state this path is valid for, if resolved from a request */
+	private final Object resolutionKey;
+
+	private volatile ParsedPathHolder parsedPath;
+
+
+	/**
+	 * Create a new {@code RequestPath} for the given, already resolved lookup path.
+	 * @param lookupPath the lookup path
+	 */
+	public RequestPath(String lookupPath) {
+		this(lookupPath, null);
+	}
+
+	RequestPath(String lookupPath, Object resolutionKey) {
+		Assert.notNull(lookupPath, "Lookup path must not be null");
+		this.lookupPath = lookupPath;
+		this.segmentOffsets = initSegmentOffsets(lookupPath);
+		this.resolutionKey = resolutionKey;
+	}
+
+	private static int[] initSegmentOffsets(String path) {
+		int count = 0;
+		int length = path.length();
+		for (int i = 0; i < length; i++) {
+			if (path.charAt(i) != '/' && (i == 0 || path.charAt(i - 1) == '/')) {
+				count++;
+			}
+		}
+		if (count == 0) {
+			return NO_OFFSETS;
+		}
+		int[] offsets = new int[count * 2];
+		int index = 0;
+		int start = -1;
+		for (int i = 0; i <= length; i++) {
+			boolean separator = (i == length || path.charAt(i) == '/');
+			if (separator && start != -1) {
+				offsets[index++] = start;
+				offsets[index++] = i;
+				start = -1;
+			}
+			else if (!separator && start == -1) {
+				start = i;
+			}
+		}
+		return offsets;
+	}
+
+
+	/**
+	 * Return the lookup path, as returned by
+	 * {@link UrlPathHelper#getLookupPathForRequest}.
+	 */
+	public String getLookupPath() {
+		return this.lookupPath;
+	}
+
+	/**
+	 * Return the number of non-empty "/"-separated segments in the lookup path.
+	 */
+	public int getSegmentCount() {
+		return this.segmentOffsets.length / 2;
+	}
+
+	/**
+	 * Return the offset within the lookup path at which the given segment starts.
+	 * @param index the segment index
+	 */
+	public int getSegmentStart(int index) {
+		return this.segmentOffsets[index * 2];
+	}
+
+	/**
+	 * Return the offset within the lookup path at which the given segment ends (exclusive).
+	 * @param index the segment index
+	 */
+	public int getSegmentEnd(int index) {
+		return this.segmentOffsets[index * 2 + 1];
+	}
+
+	/**
+	 * Return the value of the given segment.
+	 * @param index the segment index
+	 */
+	public String getSegment(int index) {
+		return this.lookupPath.substring(getSegmentStart(index), getSegmentEnd(index));
+	}
+
+	/**
+	 * Whether the given segment is equal to the given value, optionally
+	 * ignoring case, without creating a String for the segment.
+	 * @param index the segment index
+	 * @param value the value to compare to
+	 * @param ignoreCase whether to ignore case
+	 */
+	public boolean segmentMatches(int index, String value, boolean ignoreCase) {
+		int start = getSegmentStart(index);
+		int length = getSegmentEnd(index) - start;
+		return (value.length() == length && this.lookupPath.regionMatches(ignoreCase, start, value, 0, length));
+	}
+
+	/**
+	 * Whether the lookup path ends with a "/".
+	 */
+	public boolean hasTrailingSlash() {
+		return this.lookupPath.endsWith("/");
+	}
+
+	/**
+	 * Return the lookup path as parsed by the given {@link AntPathMatcher},
+	 * parsing it on first access only for repeated use with the same matcher.
+	 * @param pathMatcher the matcher whose compiled patterns are to be matched
+	 * @see AntPathMatcher#parsePath(String)
+	 */
+	public PathPattern.ParsedPath getParsedPath(AntPathMatcher pathMatcher) {
+		ParsedPathHolder holder = this.parsedPath;
+		if (holder == null || holder.pathMatcher != pathMatcher) {
+			holder = new ParsedPathHolder(pathMatcher, pathMatcher.parsePath(this.lookupPath));
+			this.parsedPath = holder;
+		}
+		return holder.parsedPath;
+	}
+
+	Object getResolutionKey() {
+		return this.resolutionKey;
+	}
+
+
+	@Override
+	public boolean equals(Object other) {
+		return (this == other || (other instanceof RequestPath &&
+				this.lookupPath.equals(((RequestPath) other).lookupPath)));
+	}
+
+	@Override
+	public int hashCode() {
+		return this.lookupPath.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return this.lookupPath;
+	}
+
+
+	private static class ParsedPathHolder {
+
+		private final AntPathMatcher pathMatcher;
+
+		private final PathPattern.ParsedPath parsedPath;
+
+		public ParsedPathHolder(AntPathMatcher pathMatcher, PathPattern.ParsedPath parsedPath) {
+			this.pathMatcher = pathMatcher;
+			this.parsedPath = parsedPath;
+		}
+	}
+
+}
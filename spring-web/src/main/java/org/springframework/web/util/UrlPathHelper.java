@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2017 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,7 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -47,6 +48,13 @@ import org.springframework.util.StringUtils;
  */
 public class UrlPathHelper {
 
+	/**
+	 * Name of the request attribute that holds the {@link RequestPath}
+	 * resolved by {@link #getRequestPath}.
+	 * @since 4.3.13
+	 */
+	public static final String REQUEST_PATH_ATTRIBUTE = UrlPathHelper.class.getName() + ".REQUEST_PATH";
+
 	/**
 	 * Special WebSphere request attribute, indicating the original request URI.
 	 * Preferable over the standard Servlet 2.4 forward attribute on WebSphere,
@@ -136,6 +144,35 @@ public class UrlPathHelper {
 	}
 
 
+	/**
+	 * Return the {@link RequestPath} for the given request, resolving the
+	 * lookup path via {@link #getLookupPathForRequest} only once per request.
+	 * <p>The resolved path is exposed as a request attribute and reused by
+	 * subsequent calls for as long as the request URI, context path, servlet
+	 * path, path info and character encoding of the request remain the same
+	 * (i.e. until the request is forwarded or included), and as long as the
+	 * calling helper is configured the same way. A path resolved by a subclass
+	 * of {@code UrlPathHelper} is only reused by the same instance.
+	 * @param request current HTTP request
+	 * @return the request path (never {@code null})
+	 * @since 4.3.13
+	 * @see #REQUEST_PATH_ATTRIBUTE
+	 */
+	public RequestPath getRequestPath(HttpServletRequest request) {
+		Object attribute = request.getAttribute(REQUEST_PATH_ATTRIBUTE);
+		if (attribute instanceof RequestPath) {
+			RequestPath requestPath = (RequestPath) attribute;
+			Object key = requestPath.getResolutionKey();
+			if (key instanceof ResolutionKey && ((ResolutionKey) key).isValidFor(this, request)) {
+				return requestPath;
+			}
+		}
+		ResolutionKey key = new ResolutionKey(this, request);
+		RequestPath requestPath = new RequestPath(getLookupPathForRequest(request), key);
+		request.setAttribute(REQUEST_PATH_ATTRIBUTE, requestPath);
+		return requestPath;
+	}
+
 	/**
 	 * Return the mapping lookup path for the given request, within the current
 	 * servlet mapping if applicable, else within the web application.
@@ -279,17 +316,19 @@ public class UrlPathHelper {
 	 * </ul>
 	 */
 	private String getSanitizedPath(final String path) {
-		String sanitized = path;
-		while (true) {
-			int index = sanitized.indexOf("//");
-			if (index < 0) {
-				break;
-			}
-			else {
-				sanitized = sanitized.substring(0, index) + sanitized.substring(index + 1);
+		int index = path.indexOf("//");
+		if (index < 0) {
+			return path;
+		}
+		StringBuilder sanitized = new StringBuilder(path.length());
+		sanitized.append(path, 0, index + 1);
+		for (int i = index + 1; i < path.length(); i++) {
+			char c = path.charAt(i);
+			if (c != '/' || path.charAt(i - 1) != '/') {
+				sanitized.append(c);
 			}
 		}
-		return sanitized;
+		return sanitized.toString();
 	}
 
 	/**
@@ -446,6 +485,10 @@ public class UrlPathHelper {
 
 	@SuppressWarnings("deprecation")
 	private String decodeInternal(HttpServletRequest request, String source) {
+		if (source.indexOf('%') == -1) {
+			// Nothing to decode
+			return source;
+		}
 		String enc = determineEncoding(request);
 		try {
 			return UriUtils.decode(source, enc);
@@ -491,13 +534,21 @@ public class UrlPathHelper {
 
 	private String removeSemicolonContentInternal(String requestUri) {
 		int semicolonIndex = requestUri.indexOf(';');
+		if (semicolonIndex == -1) {
+			return requestUri;
+		}
+		StringBuilder result = new StringBuilder(requestUri.length());
+		int start = 0;
 		while (semicolonIndex != -1) {
-			int slashIndex = requestUri.indexOf('/', semicolonIndex);
-			String start = requestUri.substring(0, semicolonIndex);
-			requestUri = (slashIndex != -1) ? start + requestUri.substring(slashIndex) : start;
-			semicolonIndex = requestUri.indexOf(';', semicolonIndex);
+			result.append(requestUri, start, semicolonIndex);
+			start = requestUri.indexOf('/', semicolonIndex);
+			if (start == -1) {
+				return result.toString();
+			}
+			semicolonIndex = requestUri.indexOf(';', start);
 		}
-		return requestUri;
+		result.append(requestUri, start, requestUri.length());
+		return result.toString();
 	}
 
 	private String removeJsessionid(String requestUri) {
@@ -590,4 +641,77 @@ public class UrlPathHelper {
 		return !websphereComplianceFlag;
 	}
 
+
+
+	/**
+	 * The configuration and raw request state a {@link RequestPath} was
+	 * resolved from, used to decide whether it can be reused.
+	 */
+	private static class ResolutionKey {
+
+		private final UrlPathHelper urlPathHelper;
+
+		private final boolean alwaysUseFullPath;
+
+		private final boolean urlDecode;
+
+		private final boolean removeSemicolonContent;
+
+		private final String defaultEncoding;
+
+		private final String requestUri;
+
+		private final String contextPath;
+
+		private final String servletPath;
+
+		private final String pathInfo;
+
+		private final Object includeRequestUri;
+
+		private final Object includeContextPath;
+
+		private final Object includeServletPath;
+
+		private final String characterEncoding;
+
+		public ResolutionKey(UrlPathHelper urlPathHelper, HttpServletRequest request) {
+			this.urlPathHelper = urlPathHelper;
+			this.alwaysUseFullPath = urlPathHelper.alwaysUseFullPath;
+			this.urlDecode = urlPathHelper.urlDecode;
+			this.removeSemicolonContent = urlPathHelper.removeSemicolonContent;
+			this.defaultEncoding = urlPathHelper.defaultEncoding;
+			this.requestUri = request.getRequestURI();
+			this.contextPath = request.getContextPath();
+			this.servletPath = request.getServletPath();
+			this.pathInfo = request.getPathInfo();
+			this.includeRequestUri = request.getAttribute(WebUtils.INCLUDE_REQUEST_URI_ATTRIBUTE);
+			this.includeContextPath = request.getAttribute(WebUtils.INCLUDE_CONTEXT_PATH_ATTRIBUTE);
+			this.includeServletPath = request.getAttribute(WebUtils.INCLUDE_SERVLET_PATH_ATTRIBUTE);
+			this.characterEncoding = request.getCharacterEncoding();
+		}
+
+		public boolean isValidFor(UrlPathHelper urlPathHelper, HttpServletRequest request) {
+			if (urlPathHelper != this.urlPathHelper && (urlPathHelper.getClass() != UrlPathHelper.class ||
+					this.urlPathHelper.getClass() != UrlPathHelper.class)) {
+				return false;
+			}
+			return (urlPathHelper.alwaysUseFullPath == this.alwaysUseFullPath &&
+					urlPathHelper.urlDecode == this.urlDecode &&
+					urlPathHelper.removeSemicolonContent == this.removeSemicolonContent &&
+					ObjectUtils.nullSafeEquals(urlPathHelper.defaultEncoding, this.defaultEncoding) &&
+					ObjectUtils.nullSafeEquals(request.getRequestURI(), this.requestUri) &&
+					ObjectUtils.nullSafeEquals(request.getContextPath(), this.contextPath) &&
+					ObjectUtils.nullSafeEquals(request.getServletPath(), this.servletPath) &&
+					ObjectUtils.nullSafeEquals(request.getPathInfo(), this.pathInfo) &&
+					ObjectUtils.nullSafeEquals(request.getAttribute(WebUtils.INCLUDE_REQUEST_URI_ATTRIBUTE),
+							this.includeRequestUri) &&
+					ObjectUtils.nullSafeEquals(request.getAttribute(WebUtils.INCLUDE_CONTEXT_PATH_ATTRIBUTE),
+							this.includeContextPath) &&
+					ObjectUtils.nullSafeEquals(request.getAttribute(WebUtils.INCLUDE_SERVLET_PATH_ATTRIBUTE),
+							this.includeServletPath) &&
+					ObjectUtils.nullSafeEquals(request.getCharacterEncoding(), this.characterEncoding));
+		}
+	}
+
 }